@@ -0,0 +1,50 @@
+package com.tender_service.core.api.database;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Applies the idempotent PostgreSQL scripts under {@code db/schema} (triggers, GIN and partial indexes)
+ * that Hibernate's {@code ddl-auto=update} cannot express. Runs while the context starts, once the entity
+ * manager factory has created the tables and before the web server and schedulers start, so no request
+ * sees the schema half-applied (e.g. {@code items_seq} behind ids the identity column issued).
+ */
+@Component
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "tender.database.schema-scripts.enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaScriptRunner implements InitializingBean {
+
+    private final DataSource dataSource;
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+
+    @Value("${tender.database.schema-scripts.location:classpath*:db/schema/*.sql}")
+    private String location;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Resource[] scripts = resourceResolver.getResources(location);
+        Arrays.sort(scripts, Comparator.comparing(Resource::getFilename));
+
+        for (Resource script : scripts) {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(script);
+            populator.setSqlScriptEncoding("UTF-8");
+            // Scripts contain dollar-quoted function bodies; the PostgreSQL driver splits statements itself.
+            populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+            populator.execute(dataSource);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.tender_service.core.api.database.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Last stored status of a bulk tender import, so a status request routed to any node can be answered. The
+ * node running the import writes {@code snapshot} (the status response as JSON) when it starts, after every
+ * batch and when it finishes.
+ */
+@Entity
+@Table(name = "IMPORT_JOBS", indexes = @Index(name = "IMPORT_JOBS_STARTED_AT_IDX", columnList = "STARTED_AT"))
+@Getter
+@Setter
+public class ImportJob {
+    @Id
+    @Column(name = "ID")
+    private UUID id;
+
+    @Column(name = "USER_ID")
+    private Long userId;
+
+    @Column(name = "STARTED_AT")
+    private LocalDateTime startedAt;
+
+    @Column(name = "UPDATED_AT")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "SNAPSHOT", length = Length.LONG32)
+    private String snapshot;
+}
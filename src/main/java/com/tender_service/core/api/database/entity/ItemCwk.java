@@ -7,13 +7,14 @@ import lombok.Setter;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 @Entity
-@Table(name = "ITEMS")
+@Table(name = "ITEMS", indexes = @Index(name = "ITEMS_TENDER_ID_IDX", columnList = "TENDER_ID"))
 @Getter
 @Setter
 public class ItemCwk {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ITEMS_SEQ")
+    @SequenceGenerator(name = "ITEMS_SEQ", sequenceName = "ITEMS_SEQ", allocationSize = 50)
     @JsonIgnore
     private Long id;
 
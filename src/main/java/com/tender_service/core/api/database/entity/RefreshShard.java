@@ -0,0 +1,55 @@
+package com.tender_service.core.api.database.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A contiguous range of tender ids that one refresh worker at a time works through. {@code idFrom} is
+ * inclusive and {@code idTo} exclusive; a null bound is open. {@code checkpointId} is the last id of the
+ * current pass that has been written, so a node that takes over an expired lease resumes after it.
+ */
+@Entity
+@Table(name = "REFRESH_SHARDS")
+@Getter
+@Setter
+public class RefreshShard {
+    @Id
+    @Column(name = "SHARD_NO")
+    private Integer shardNo;
+
+    @Column(name = "ID_FROM")
+    private Long idFrom;
+
+    @Column(name = "ID_TO")
+    private Long idTo;
+
+    @Column(name = "LEASED_BY")
+    private String leasedBy;
+
+    @Column(name = "LEASE_UNTIL")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "CHECKPOINT_ID")
+    private Long checkpointId;
+
+    @Column(name = "LAST_COMPLETED_AT")
+    private LocalDateTime lastCompletedAt;
+
+    @Column(name = "PLANNED_AT")
+    private LocalDateTime plannedAt;
+
+    /** Exclusive lower bound of the ids still to be looked at in this pass. */
+    public long resumeAfter() {
+        if (checkpointId != null) {
+            return checkpointId;
+        }
+        return idFrom != null ? idFrom - 1 : Long.MIN_VALUE;
+    }
+
+    public long upperBound() {
+        return idTo != null ? idTo : Long.MAX_VALUE;
+    }
+}
@@ -3,9 +3,12 @@ package com.tender_service.core.api.database.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -13,10 +16,21 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "TENDERS")
+@Table(name = "TENDERS", indexes = {
+        @Index(name = "TENDERS_USER_ID_IDX", columnList = "USER_ID"),
+        @Index(name = "TENDERS_SUPPLIER_ID_IDX", columnList = "SUPPLIER_ID"),
+        @Index(name = "TENDERS_TENDERER_ID_IDX", columnList = "TENDERER_ID"),
+        @Index(name = "TENDERS_BUDGET_AMOUNT_IDX", columnList = "BUDGET_AMOUNT"),
+        @Index(name = "TENDERS_CREATE_AT_IDX", columnList = "CREATE_AT"),
+        @Index(name = "TENDERS_ENQUIRY_PERIOD_END_IDX", columnList = "ENQUIRY_PERIOD_END"),
+        @Index(name = "TENDERS_TENDERING_PERIOD_END_IDX", columnList = "TENDERING_PERIOD_END"),
+        @Index(name = "TENDERS_AUCTION_START_IDX", columnList = "AUCTION_START"),
+        @Index(name = "TENDERS_DATE_DEAL_IDX", columnList = "DATE_DEAL")
+})
 @Getter
 @Setter
-public class TenderCwk {
+@DynamicUpdate
+public class TenderCwk implements Persistable<Long> {
 
     @Id
     @Column(nullable = false, name = "ID")
@@ -148,6 +162,26 @@ public class TenderCwk {
     @Column(name = "URL_DEAL", length = 500)
     private String urlDeal;
 
+    @Column(name = "CONTENT_HASH")
+    @JsonIgnore
+    private Long contentHash;
+
+    @Column(name = "UPSTREAM_ETAG")
+    @JsonIgnore
+    private String upstreamEtag;
+
+    @Column(name = "UPSTREAM_LAST_MODIFIED")
+    @JsonIgnore
+    private String upstreamLastModified;
+
+    @Column(name = "NEXT_REFRESH_AT")
+    @JsonIgnore
+    private LocalDateTime nextRefreshAt;
+
+    @Column(name = "LAST_CHANGED_FIELDS", length = 1000)
+    @JsonIgnore
+    private String lastChangedFields;
+
     @Column(name = "AMOUNT_BY_ACCOUNTS") //штивно
     private Long amountByAccounts;
 
@@ -184,4 +218,36 @@ public class TenderCwk {
     @OneToMany(mappedBy = "tender", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonManagedReference
     private List<ItemsAndParticipants> itemsAndParticipants;
+
+    /**
+     * Set on a tender built for import. The id is assigned, so without it saving would merge and SELECT the
+     * row first; with it the save is a plain persist. Only the import constructor sets it: a request body
+     * that could would turn the update of a stored tender into a failing insert.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private boolean newTender;
+
+    public TenderCwk() {
+    }
+
+    /** A tender about to be imported under the upstream's id, saved with a plain persist. */
+    public TenderCwk(Long id) {
+        this.id = id;
+        this.newTender = true;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newTender;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        newTender = false;
+    }
 }
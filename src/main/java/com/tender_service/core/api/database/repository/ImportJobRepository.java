@@ -0,0 +1,21 @@
+package com.tender_service.core.api.database.repository;
+
+import com.tender_service.core.api.database.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, UUID> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ImportJob j WHERE j.startedAt < :before")
+    int deleteStartedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,13 @@
+package com.tender_service.core.api.database.repository;
+
+import com.tender_service.core.api.database.entity.RefreshShard;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshShardQueryRepository {
+
+    boolean replan(int shardCount, LocalDateTime now, LocalDateTime plannedBefore);
+
+    Optional<RefreshShard> claim(String node, LocalDateTime now, LocalDateTime completedBefore, LocalDateTime leaseUntil);
+}
@@ -0,0 +1,99 @@
+package com.tender_service.core.api.database.repository;
+
+import com.tender_service.core.api.database.entity.RefreshShard;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public class RefreshShardQueryRepositoryImpl implements RefreshShardQueryRepository {
+
+    /** Planning takes it exclusively and claims take it shared, so shards are never re-cut under a claim. */
+    private static final String PLAN_LOCK = "hashtext('refresh_shards')";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Cuts the scheduled tenders into {@code shardCount} id ranges of about the same size with {@code ntile}.
+     * The first and last ranges are open so tenders added later always fall into a shard. Only replans when
+     * the shard count changed or the plan is older than {@code plannedBefore}, and never while a lease is
+     * held; returns false if another node is planning or claiming at the same moment.
+     */
+    @Override
+    @Transactional
+    public boolean replan(int shardCount, LocalDateTime now, LocalDateTime plannedBefore) {
+        if (!tryLock("pg_try_advisory_xact_lock")) return false;
+
+        Object[] plan = (Object[]) entityManager.createNativeQuery("""
+                        SELECT count(*), count(*) FILTER (WHERE lease_until >= :now),
+                               count(*) FILTER (WHERE planned_at < :plannedBefore)
+                        FROM refresh_shards""")
+                .setParameter("now", now)
+                .setParameter("plannedBefore", plannedBefore)
+                .getSingleResult();
+        long shards = ((Number) plan[0]).longValue();
+        long leased = ((Number) plan[1]).longValue();
+        long outdated = ((Number) plan[2]).longValue();
+        if (leased > 0 || (shards == shardCount && outdated == 0)) {
+            return false;
+        }
+
+        entityManager.createNativeQuery("DELETE FROM refresh_shards").executeUpdate();
+        int planned = entityManager.createNativeQuery("""
+                        INSERT INTO refresh_shards (shard_no, id_from, id_to, planned_at)
+                        SELECT tile, CASE WHEN tile = 1 THEN NULL ELSE lower_id END,
+                               lead(lower_id) OVER (ORDER BY tile), :now
+                        FROM (SELECT tile, min(id) AS lower_id
+                              FROM (SELECT id, ntile(:shards) OVER (ORDER BY id) AS tile
+                                    FROM tenders WHERE next_refresh_at IS NOT NULL) ids
+                              GROUP BY tile) bounds""")
+                .setParameter("shards", shardCount)
+                .setParameter("now", now)
+                .executeUpdate();
+        if (planned == 0) {
+            entityManager.createNativeQuery("INSERT INTO refresh_shards (shard_no, planned_at) VALUES (1, :now)")
+                    .setParameter("now", now)
+                    .executeUpdate();
+        }
+        return true;
+    }
+
+    /**
+     * Leases the shard that has gone longest without a completed pass, skipping shards other nodes have
+     * locked or leased and those completed after {@code completedBefore}. An expired lease is taken over
+     * together with its checkpoint.
+     */
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Optional<RefreshShard> claim(String node, LocalDateTime now, LocalDateTime completedBefore,
+                                        LocalDateTime leaseUntil) {
+        if (!tryLock("pg_try_advisory_xact_lock_shared")) return Optional.empty();
+
+        List<RefreshShard> shards = entityManager.createNativeQuery("""
+                        SELECT * FROM refresh_shards
+                        WHERE (lease_until IS NULL OR lease_until < :now)
+                          AND (last_completed_at IS NULL OR last_completed_at < :completedBefore)
+                        ORDER BY last_completed_at NULLS FIRST, shard_no
+                        LIMIT 1
+                        FOR UPDATE SKIP LOCKED""", RefreshShard.class)
+                .setParameter("now", now)
+                .setParameter("completedBefore", completedBefore)
+                .getResultList();
+        if (shards.isEmpty()) return Optional.empty();
+
+        RefreshShard shard = shards.getFirst();
+        shard.setLeasedBy(node);
+        shard.setLeaseUntil(leaseUntil);
+        return Optional.of(shard);
+    }
+
+    private boolean tryLock(String function) {
+        return (Boolean) entityManager.createNativeQuery("SELECT " + function + "(" + PLAN_LOCK + ")")
+                .getSingleResult();
+    }
+}
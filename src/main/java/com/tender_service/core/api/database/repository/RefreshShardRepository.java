@@ -0,0 +1,33 @@
+package com.tender_service.core.api.database.repository;
+
+import com.tender_service.core.api.database.entity.RefreshShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RefreshShardRepository extends JpaRepository<RefreshShard, Integer>, RefreshShardQueryRepository {
+
+    /**
+     * Moves the checkpoint forward (never back, chunks may finish out of order) and extends the lease.
+     * Returns 0 once the lease has passed to another node.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshShard s SET s.leaseUntil = :leaseUntil,"
+            + " s.checkpointId = CASE WHEN s.checkpointId > :id THEN s.checkpointId ELSE :id END"
+            + " WHERE s.shardNo = :shardNo AND s.leasedBy = :node")
+    int checkpoint(@Param("shardNo") Integer shardNo, @Param("node") String node, @Param("id") Long id,
+                   @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshShard s SET s.lastCompletedAt = :at, s.checkpointId = NULL, s.leasedBy = NULL, s.leaseUntil = NULL"
+            + " WHERE s.shardNo = :shardNo AND s.leasedBy = :node")
+    int complete(@Param("shardNo") Integer shardNo, @Param("node") String node, @Param("at") LocalDateTime at);
+}
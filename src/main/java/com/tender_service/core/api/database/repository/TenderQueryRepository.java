@@ -0,0 +1,38 @@
+package com.tender_service.core.api.database.repository;
+
+import com.tender_service.core.api.database.entity.Role;
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.utils.filter.FilterField;
+import com.tender_service.utils.pagination.Keyset;
+import com.tender_service.utils.pagination.KeysetSlice;
+import com.tender_service.utils.projection.AggregateProjection;
+import com.tender_service.utils.projection.TupleProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public interface TenderQueryRepository {
+
+    <R> List<R> findPage(Specification<TenderCwk> spec, Pageable pageable,
+                         TupleProjection<TenderCwk, R> projection);
+
+    <R> KeysetSlice<R> findSlice(Specification<TenderCwk> spec, FilterField<TenderCwk> sortField,
+                                 Sort.Direction direction, Keyset after, int limit,
+                                 TupleProjection<TenderCwk, R> projection);
+
+    <R> Stream<R> stream(Specification<TenderCwk> spec, Sort sort, int fetchSize,
+                         TupleProjection<TenderCwk, R> projection);
+
+    <R> List<R> aggregate(Specification<TenderCwk> spec, AggregateProjection<TenderCwk, R> projection);
+
+    List<Long> searchRankedIds(String query, Role ownerRole, Long ownerId, int offset, int limit);
+
+    void updateAll(Map<Long, Consumer<TenderCwk>> updates);
+
+    void insertAll(List<TenderCwk> tenders);
+}
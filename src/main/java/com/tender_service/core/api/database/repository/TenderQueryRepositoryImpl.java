@@ -0,0 +1,268 @@
+package com.tender_service.core.api.database.repository;
+
+import com.tender_service.core.api.database.entity.Role;
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.utils.filter.FilterField;
+import com.tender_service.utils.pagination.Keyset;
+import com.tender_service.utils.pagination.KeysetSlice;
+import com.tender_service.utils.projection.AggregateProjection;
+import com.tender_service.utils.projection.TupleProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class TenderQueryRepositoryImpl implements TenderQueryRepository {
+
+    private static final String ID = "id";
+    private static final Map<Role, String> OWNER_COLUMNS = Map.of(
+            Role.USER, "user_id",
+            Role.SUPPLIER, "supplier_id",
+            Role.TENDERER, "tenderer_id"
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public <R> List<R> findPage(Specification<TenderCwk> spec, Pageable pageable,
+                                TupleProjection<TenderCwk, R> projection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TenderCwk> root = query.from(TenderCwk.class);
+
+        query.multiselect(projection.selections(root, cb));
+        Predicate filter = spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            query.where(filter);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        List<R> content = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            content.add(projection.map(row));
+        }
+        return content;
+    }
+
+    @Override
+    public <R> KeysetSlice<R> findSlice(Specification<TenderCwk> spec, FilterField<TenderCwk> sortField,
+                                        Sort.Direction direction, Keyset after, int limit,
+                                        TupleProjection<TenderCwk, R> projection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TenderCwk> root = query.from(TenderCwk.class);
+        Path<?> sortPath = sortField.path().apply(root);
+        Path<Long> idPath = root.get(ID);
+        boolean sortById = ID.equals(sortField.name());
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (after != null) {
+            predicates.add(sortById
+                    ? seekById(cb, idPath, direction, after.id())
+                    : seek(cb, sortPath, idPath, direction, after));
+        }
+
+        List<Order> orders = new ArrayList<>();
+        orders.add(direction.isAscending() ? cb.asc(sortPath) : cb.desc(sortPath));
+        if (!sortById) {
+            orders.add(direction.isAscending() ? cb.asc(idPath) : cb.desc(idPath));
+        }
+
+        List<Selection<?>> selections = new ArrayList<>(projection.selections(root, cb));
+        int keyIndex = selections.size();
+        selections.add(sortPath);
+        selections.add(idPath);
+
+        query.multiselect(selections)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(orders);
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setMaxResults(limit + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > limit;
+        List<Tuple> page = hasNext ? rows.subList(0, limit) : rows;
+        List<R> content = new ArrayList<>(page.size());
+        for (Tuple row : page) {
+            content.add(projection.map(row));
+        }
+
+        Keyset next = null;
+        if (hasNext) {
+            Tuple last = page.getLast();
+            next = new Keyset(sortField.name(), direction, last.get(keyIndex), last.get(keyIndex + 1, Long.class));
+        }
+        return new KeysetSlice<>(content, hasNext, next);
+    }
+
+    /**
+     * Forward-only cursor over the projection. Must be consumed inside a transaction, otherwise the
+     * PostgreSQL driver ignores the fetch size and buffers the whole result. Tuples are not managed, so the
+     * persistence context stays empty however many rows pass through.
+     */
+    @Override
+    public <R> Stream<R> stream(Specification<TenderCwk> spec, Sort sort, int fetchSize,
+                                TupleProjection<TenderCwk, R> projection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TenderCwk> root = query.from(TenderCwk.class);
+
+        query.multiselect(projection.selections(root, cb));
+        Predicate filter = spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            query.where(filter);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(projection::map);
+    }
+
+    @Override
+    public <R> List<R> aggregate(Specification<TenderCwk> spec, AggregateProjection<TenderCwk, R> projection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TenderCwk> root = query.from(TenderCwk.class);
+
+        List<Expression<?>> keys = projection.groupBy(root, cb);
+        List<Selection<?>> selections = new ArrayList<>(keys);
+        selections.addAll(projection.aggregates(root, cb));
+
+        query.multiselect(selections).groupBy(keys);
+        Predicate filter = spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            query.where(filter);
+        }
+        List<Order> orders = new ArrayList<>(keys.size());
+        for (Expression<?> key : keys) {
+            orders.add(cb.asc(key));
+        }
+        query.orderBy(orders);
+
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        List<R> content = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            content.add(projection.map(row));
+        }
+        return content;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> searchRankedIds(String query, Role ownerRole, Long ownerId, int offset, int limit) {
+        String ownerColumn = ownerRole != null ? OWNER_COLUMNS.get(ownerRole) : null;
+        if (ownerRole != null && ownerColumn == null) {
+            throw new IllegalArgumentException("Not found role");
+        }
+
+        String sql = "SELECT t.id FROM tenders t, websearch_to_tsquery('simple', :query) q"
+                + " WHERE t.search_vector @@ q"
+                + (ownerColumn != null ? " AND t." + ownerColumn + " = :ownerId" : "")
+                + " ORDER BY ts_rank_cd(t.search_vector, q) DESC, t.id DESC";
+
+        Query nativeQuery = entityManager.createNativeQuery(sql, Long.class)
+                .setParameter("query", query)
+                .setFirstResult(offset)
+                .setMaxResults(limit);
+        if (ownerColumn != null) {
+            nativeQuery.setParameter("ownerId", ownerId);
+        }
+        return nativeQuery.getResultList();
+    }
+
+    /**
+     * Applies each update to the current row of its tender, loaded with one IN query, in one transaction. The
+     * updates set only what they change, so columns edited since the caller read its copy are left alone;
+     * {@code TenderCwk} uses dynamic update, so each row's UPDATE sets only its dirty columns. Hibernate does
+     * not JDBC-batch such statements, which is cheap here because only tenders whose upstream content changed
+     * get this far. Tenders deleted in the meantime are skipped.
+     */
+    @Override
+    @Transactional
+    public void updateAll(Map<Long, Consumer<TenderCwk>> updates) {
+        if (updates.isEmpty()) return;
+
+        List<TenderCwk> current = entityManager
+                .createQuery("SELECT t FROM TenderCwk t WHERE t.id IN :ids", TenderCwk.class)
+                .setParameter("ids", updates.keySet())
+                .getResultList();
+        for (TenderCwk tender : current) {
+            updates.get(tender.getId()).accept(tender);
+        }
+        entityManager.flush();
+    }
+
+    /**
+     * Inserts new tenders, with their cascaded items, in one transaction. persist skips the select that
+     * save/merge would issue for an assigned id, so the inserts go out as JDBC batches.
+     */
+    @Override
+    @Transactional
+    public void insertAll(List<TenderCwk> tenders) {
+        for (TenderCwk tender : tenders) {
+            entityManager.persist(tender);
+        }
+        entityManager.flush();
+    }
+
+    private static Predicate seekById(CriteriaBuilder cb, Path<Long> idPath, Sort.Direction direction, Long lastId) {
+        return direction.isAscending() ? cb.greaterThan(idPath, lastId) : cb.lessThan(idPath, lastId);
+    }
+
+    /**
+     * Rows strictly after {@code after} in (sortKey, id) order. Nulls follow PostgreSQL defaults:
+     * last for ascending, first for descending.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate seek(CriteriaBuilder cb, Path<?> sortPath, Path<Long> idPath,
+                                  Sort.Direction direction, Keyset after) {
+        Expression<Comparable> key = (Expression<Comparable>) sortPath;
+        Comparable value = (Comparable) after.value();
+
+        if (direction.isAscending()) {
+            if (value == null) {
+                return cb.and(cb.isNull(key), cb.greaterThan(idPath, after.id()));
+            }
+            return cb.or(
+                    cb.greaterThan(key, value),
+                    cb.and(cb.equal(key, value), cb.greaterThan(idPath, after.id())),
+                    cb.isNull(key));
+        }
+
+        if (value == null) {
+            return cb.or(
+                    cb.and(cb.isNull(key), cb.lessThan(idPath, after.id())),
+                    cb.isNotNull(key));
+        }
+        return cb.or(
+                cb.lessThan(key, value),
+                cb.and(cb.equal(key, value), cb.lessThan(idPath, after.id())));
+    }
+}
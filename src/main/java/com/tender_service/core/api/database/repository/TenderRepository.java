@@ -2,16 +2,30 @@ package com.tender_service.core.api.database.repository;
 
 import com.tender_service.core.api.database.entity.TenderCwk;
 import com.tender_service.core.api.database.entity.UserCwk;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TenderRepository extends JpaRepository<TenderCwk, Long>, JpaSpecificationExecutor<TenderCwk> {
+public interface TenderRepository extends JpaRepository<TenderCwk, Long>, JpaSpecificationExecutor<TenderCwk>,
+        TenderQueryRepository {
+
+    /**
+     * Tenders the refresh worker still has to look at. Kept identical to the predicate of
+     * {@code tenders_refresh_due_id_idx} (db/schema/05-tender-refresh-schedule.sql).
+     */
+    String REFRESH_CANDIDATE = "(t.statusTitle IS NULL OR t.statusTitle <> 'Пропозиції розглянуті'"
+            + " OR t.auctionStart IS NULL OR t.qualificationDate IS NULL OR t.idDeal IS NULL"
+            + " OR t.dateDeal IS NULL OR t.amountDeal IS NULL OR t.urlDeal IS NULL)";
 
     boolean existsById(Long id);
 
@@ -20,10 +34,25 @@ public interface TenderRepository extends JpaRepository<TenderCwk, Long>, JpaSpe
 
     TenderCwk findTenderCwkById(Long id);
 
+    @Query("SELECT t.id FROM TenderCwk t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
     boolean existsByUserAndId(UserCwk user, Long id);
 
     TenderCwk findTenderCwkByUserAndId(UserCwk user, Long id);
 
     @Query("SELECT DISTINCT t.unit FROM TenderCwk t WHERE t.unit IS NOT NULL")
     List<String> findAllDistinctUnits();
+
+    /** Due tenders of one refresh shard, in id order so the shard can be checkpointed and resumed. */
+    @Query("SELECT t FROM TenderCwk t LEFT JOIN FETCH t.supplier LEFT JOIN FETCH t.tenderer LEFT JOIN FETCH t.participant"
+            + " WHERE t.id > :after AND t.id < :before AND t.nextRefreshAt <= :now AND " + REFRESH_CANDIDATE
+            + " ORDER BY t.id")
+    List<TenderCwk> findDueForRefresh(@Param("now") LocalDateTime now, @Param("after") long after,
+                                      @Param("before") long before, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TenderCwk t SET t.nextRefreshAt = :at WHERE t.id IN :ids")
+    int scheduleRefresh(@Param("ids") Collection<Long> ids, @Param("at") LocalDateTime at);
 }
\ No newline at end of file
@@ -3,8 +3,12 @@ package com.tender_service.core.api.database.repository;
 import com.tender_service.core.api.database.entity.UserCwk;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,4 +23,7 @@ public interface UserRepository extends JpaRepository<UserCwk, Long> , JpaSpecif
     boolean existsByUsername(String username);
 
     UserCwk findUserCwkById(Long id);
+
+    @Query("SELECT u.id, r FROM UserCwk u JOIN u.roles r WHERE u.id IN :ids")
+    List<Object[]> findRolesByUserIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
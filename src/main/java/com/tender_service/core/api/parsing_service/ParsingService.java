@@ -1,18 +1,201 @@
 package com.tender_service.core.api.parsing_service;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
 @Service
 @RequiredArgsConstructor
 public class ParsingService {
 
     @Autowired
     private ParsingServiceFeignClient parsingServiceFeignClient;
+    @Autowired
+    private AsyncCache<Long, UpstreamTender> upstreamTenderCache;
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+    @Autowired
+    private RetryRegistry retryRegistry;
+    @Autowired
+    private UpstreamBackoff upstreamBackoff;
+    @Autowired
+    private UpstreamRateLimiter upstreamRateLimiter;
+    @Autowired
+    private UpstreamHedging upstreamHedging;
+
+    @Value("${tender.api.interactive.connect-timeout:2s}")
+    private Duration interactiveConnectTimeout = Duration.ofSeconds(2);
+    @Value("${tender.api.interactive.read-timeout:5s}")
+    private Duration interactiveReadTimeout = Duration.ofSeconds(5);
+    @Value("${tender.api.background.connect-timeout:5s}")
+    private Duration backgroundConnectTimeout = Duration.ofSeconds(5);
+    @Value("${tender.api.background.read-timeout:20s}")
+    private Duration backgroundReadTimeout = Duration.ofSeconds(20);
+
+    public ParsedTenderDTO getTenderById(Long id) {
+        return getTenderById(id, UpstreamLane.INTERACTIVE);
+    }
+
+    /**
+     * Cached read. Concurrent callers for an id that is not cached yet wait for a single upstream request,
+     * which runs on the cache's executor so the map is not locked while it is out; failures and empty bodies
+     * are not cached here but remembered by {@link UpstreamBackoff}.
+     */
+    public ParsedTenderDTO getTenderById(Long Id, UpstreamLane lane){
+        CompletableFuture<UpstreamTender> loading = upstreamTenderCache.get(Id, (id, executor) ->
+                CompletableFuture.supplyAsync(() -> {
+                    UpstreamTender fetched = fetch(id, null, null, lane);
+                    return fetched.tender() != null ? fetched : null;
+                }, executor));
+        UpstreamTender cached = join(Id, loading);
+        return cached != null ? cached.tender() : null;
+    }
+
+    /**
+     * Conditional fetch with the validators stored from the previous response. A cached copy is served
+     * instead of calling upstream, and reported as not modified when its ETag matches. Not-found answers
+     * are left to {@link UpstreamBackoff}, so an id that appears upstream is picked up once that lapses.
+     */
+    public UpstreamTender getTenderIfChanged(Long id, String etag, String lastModified) {
+        UpstreamTender cached = upstreamTenderCache.synchronous().getIfPresent(id);
+        if (cached != null) {
+            return etag != null && Objects.equals(etag, cached.etag())
+                    ? UpstreamTender.notModified(etag, lastModified)
+                    : cached;
+        }
+
+        UpstreamTender fetched = fetch(id, etag, lastModified, UpstreamLane.BACKGROUND);
+        if (!fetched.notModified() && fetched.tender() != null) {
+            upstreamTenderCache.synchronous().put(id, fetched);
+        }
+        return fetched;
+    }
+
+    /**
+     * One call under the lane's budget: paced by the node-wide {@link UpstreamRateLimiter}, admitted by its
+     * bulkhead, counted by its circuit breaker and retried with jittered exponential backoff on transport
+     * errors, 5xx and 429; every attempt takes its own rate-limit token, outside the circuit breaker so the
+     * wait does not count as a slow call. Interactive attempts may be hedged ({@link UpstreamHedging}) inside
+     * the retry, so backoff between attempts is never hedged; the hedge is only sent while the circuit is
+     * closed and a token is free that the background lane could also have taken. When the upstream is
+     * unavailable after that, a
+     * {@link ParsingServiceException} is thrown. Ids in {@link UpstreamBackoff} are answered
+     * without a call: as not found, or with that exception until their retry time.
+     */
+    private UpstreamTender fetch(Long id, String etag, String lastModified, UpstreamLane lane) {
+        UpstreamBackoff.Entry backoff = upstreamBackoff.blocking(id);
+        if (backoff != null) {
+            if (backoff.reason() == UpstreamBackoff.Reason.NOT_FOUND) {
+                return UpstreamTender.modified(null, null, null);
+            }
+            throw new ParsingServiceException("Tender API requests for tender " + id + " are backed off until "
+                    + backoff.retryAt() + " after " + backoff.failures() + " failures", null);
+        }
+
+        Request.Options options = options(lane);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(lane.instance());
+        Supplier<UpstreamTender> call = () -> request(id, etag, lastModified, options);
+        call = Bulkhead.decorateSupplier(bulkheadRegistry.bulkhead(lane.instance()), call);
+        call = CircuitBreaker.decorateSupplier(circuitBreaker, call);
+        if (lane == UpstreamLane.INTERACTIVE) {
+            Supplier<UpstreamTender> single = call;
+            call = () -> upstreamHedging.call(single, single,
+                    () -> circuitBreaker.getState() == CircuitBreaker.State.CLOSED
+                            && upstreamRateLimiter.tryAcquire(UpstreamLane.BACKGROUND));
+        }
+        Supplier<UpstreamTender> attempt = call;
+        call = () -> {
+            upstreamRateLimiter.acquire(lane);
+            return attempt.get();
+        };
+        call = Retry.decorateSupplier(retryRegistry.retry(lane.instance()), call);
+        try {
+            UpstreamTender fetched = call.get();
+            if (!fetched.notModified() && fetched.tender() == null) {
+                upstreamBackoff.notFound(id);
+            } else {
+                upstreamBackoff.succeeded(id);
+            }
+            return fetched;
+        } catch (CallNotPermittedException | BulkheadFullException | FeignException.TooManyRequests
+                 | UpstreamRateLimiter.Rejected e) {
+            throw new ParsingServiceException("Tender API unavailable for tender " + id, e);
+        } catch (RetryableException | FeignException.FeignServerException e) {
+            upstreamBackoff.failed(id, e);
+            throw new ParsingServiceException("Tender API unavailable for tender " + id, e);
+        } catch (RuntimeException e) {
+            upstreamBackoff.failed(id, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for a load, rethrowing what the fetch threw rather than the future's wrapper. A failed or empty
+     * load is dropped here too: the cache only does so in a callback that may run after this returns, and
+     * the next call must not be handed the same result.
+     */
+    private UpstreamTender join(Long id, CompletableFuture<UpstreamTender> loading) {
+        try {
+            UpstreamTender loaded = loading.join();
+            if (loaded == null) {
+                upstreamTenderCache.asMap().remove(id, loading);
+            }
+            return loaded;
+        } catch (CompletionException e) {
+            upstreamTenderCache.asMap().remove(id, loading);
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private Request.Options options(UpstreamLane lane) {
+        return switch (lane) {
+            case INTERACTIVE -> new Request.Options(interactiveConnectTimeout, interactiveReadTimeout, true);
+            case BULK, BACKGROUND -> new Request.Options(backgroundConnectTimeout, backgroundReadTimeout, true);
+        };
+    }
 
-    public ParsedTenderDTO getTenderById(Long Id){
-        return parsingServiceFeignClient.getTenderById(Id);
+    private UpstreamTender request(Long id, String etag, String lastModified, Request.Options options) {
+        try {
+            ResponseEntity<ParsedTenderDTO> response =
+                    parsingServiceFeignClient.getTenderByIdIfChanged(id, etag, lastModified, options);
+            HttpHeaders headers = response.getHeaders();
+            return UpstreamTender.modified(response.getBody(), headers.getETag(),
+                    headers.getFirst(HttpHeaders.LAST_MODIFIED));
+        } catch (FeignException e) {
+            // Feign reports 304 as an error status.
+            if (e.status() == HttpStatus.NOT_MODIFIED.value()) {
+                return UpstreamTender.notModified(etag, lastModified);
+            }
+            if (e.status() == HttpStatus.NOT_FOUND.value()) {
+                return UpstreamTender.modified(null, null, null);
+            }
+            throw e;
+        }
     }
 }
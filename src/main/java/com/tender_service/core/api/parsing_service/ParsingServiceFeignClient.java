@@ -1,13 +1,21 @@
 package com.tender_service.core.api.parsing_service;
 
 import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "tenderClient", url = "${tender.api.url}", fallbackFactory = ParsingServiceFallback.class)
+@FeignClient(name = "tenderClient", url = "${tender.api.url}", configuration = ParsingServiceFeignConfig.class)
 public interface ParsingServiceFeignClient {
 
     @GetMapping("/uk/PurchaseDetail/GetTenderModel/")
-    ParsedTenderDTO getTenderById(@RequestParam("tenderId") long tenderId);
+    ResponseEntity<ParsedTenderDTO> getTenderByIdIfChanged(
+            @RequestParam("tenderId") long tenderId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince,
+            Request.Options options);
 }
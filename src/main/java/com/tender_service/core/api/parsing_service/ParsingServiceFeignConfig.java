@@ -0,0 +1,26 @@
+package com.tender_service.core.api.parsing_service;
+
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Feign beans for {@link ParsingServiceFeignClient} only. Deliberately not a {@code @Configuration}, so
+ * component scanning does not make them the default for every Feign client.
+ */
+public class ParsingServiceFeignConfig {
+
+    /** The stock Spring Cloud decoder chain with {@link TenderModelDecoder} in place of data binding for tenders. */
+    @Bean
+    public Decoder feignDecoder(ObjectFactory<HttpMessageConverters> messageConverters,
+                                ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+        return new OptionalDecoder(new ResponseEntityDecoder(
+                new TenderModelDecoder(new SpringDecoder(messageConverters, customizers))));
+    }
+}
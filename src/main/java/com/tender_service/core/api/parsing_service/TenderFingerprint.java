@@ -0,0 +1,54 @@
+package com.tender_service.core.api.parsing_service;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 64-bit hash of everything a refresh of a stored tender depends on: the {@link ParsedTenderDTO} and the
+ * stored tender's {@link UpstreamTenderMapping#localInputs}. Only the properties the DTO binds take part, so
+ * upstream fields the service ignores do not change the fingerprint; a participant assigned or a field
+ * cleared since the last refresh does, so that tender is diffed again.
+ */
+public final class TenderFingerprint {
+
+    private static final ObjectWriter WRITER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build()
+            .writerFor(ParsedTenderDTO.class);
+
+    private TenderFingerprint() {
+    }
+
+    public static long of(ParsedTenderDTO upstream, TenderCwk stored) {
+        MessageDigest digest = sha256();
+        try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            WRITER.writeValue(out, upstream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        digest.update(UpstreamTenderMapping.localInputs(stored).getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.tender_service.core.api.parsing_service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import feign.FeignException;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Decodes {@link ParsedTenderDTO} bodies straight off the response stream with {@link TenderModelReader};
+ * any other type goes to the delegate.
+ */
+public class TenderModelDecoder implements Decoder {
+
+    private final Decoder delegate;
+
+    public TenderModelDecoder(Decoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, FeignException {
+        if (type != ParsedTenderDTO.class) {
+            return delegate.decode(response, type);
+        }
+        if (response.body() == null) {
+            return null;
+        }
+        try (InputStream in = response.body().asInputStream()) {
+            return TenderModelReader.read(in);
+        } catch (JsonProcessingException | RuntimeException e) {
+            throw new DecodeException(response.status(), "Could not read tender model: " + e.getMessage(), response.request(), e);
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.tender_service.core.api.parsing_service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.tender_service.core.api.parsing_service.models.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a {@code GetTenderModel} response into a {@link ParsedTenderDTO} that holds only what
+ * {@code TenderService} and {@code ScheduledTasks} read: the header objects, title and count of every
+ * nomenclature, and the first award, payment term and participant contract (with its first contract and
+ * document). Everything else, including criteria, documents, questions and bids, is skipped token by
+ * token and never materialised.
+ */
+public final class TenderModelReader {
+
+    private static final JsonFactory FACTORY = JsonFactory.builder().build();
+
+    private TenderModelReader() {
+    }
+
+    /** {@code null} for an empty body or a JSON {@code null}, like the data-binding decoder. */
+    public static ParsedTenderDTO read(InputStream in) throws IOException {
+        try (JsonParser p = FACTORY.createParser(in)) {
+            JsonToken token = p.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            expectObject(p);
+
+            ParsedTenderDTO tender = new ParsedTenderDTO();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "ProzorroNumber" -> tender.setProzorroNumber(text(p));
+                    case "Organizer" -> tender.setOrganizer(organizer(p));
+                    case "ProcedureType" -> tender.setProcedureType(text(p));
+                    case "Title" -> tender.setTitle(text(p));
+                    case "Category" -> tender.setCategory(category(p));
+                    case "StatusTitle" -> tender.setStatusTitle(text(p));
+                    case "Budget" -> tender.setBudget(budget(p));
+                    case "ImportantDates" -> tender.setImportantDates(importantDates(p));
+                    case "Nomenclatures" -> tender.setNomenclaturesList(nomenclatures(p));
+                    case "ParticipationCostAmount" -> tender.setParticipationCost(longValue(p));
+                    case "PaymentTerms" -> tender.setPaymentTerms(first(p, TenderModelReader::paymentTerms));
+                    case "Guarantee" -> tender.setGuarantee(guarantee(p));
+                    case "ParticipantContracts" -> tender.setParticipantContracts(first(p, TenderModelReader::participantContracts));
+                    case "Awards" -> tender.setAwards(first(p, TenderModelReader::award));
+                    default -> p.skipChildren();
+                }
+            }
+            return tender;
+        }
+    }
+
+    private static Organizer organizer(JsonParser p) throws IOException {
+        if (!startObject(p)) return null;
+        Organizer organizer = new Organizer();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "Address" -> organizer.setAddress(text(p));
+                case "Name" -> organizer.setName(text(p));
+                case "Usreou" -> organizer.setUsreou(text(p));
+                case "ContactPerson" -> organizer.setContactPerson(contactPerson(p));
+                default -> p.skipChildren();
+            }
+        }
+        return organizer;
+    }
+
+    private static ContactPerson contactPerson(JsonParser p) throws IOException {
+        if (!startObject(p)) return null;
+        ContactPerson person = new ContactPerson();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "Name" -> person.setName(text(p));
+                case "Phone" -> person.setPhone(text(p));
+                case "Email" -> person.setEmail(text(p));
+                default -> p.skipChildren();
+            }
+        }
+        return person;
+    }
+
+    private static Category category(JsonParser p) throws IOException {
+        if (!startObject(p)) return null;
+        Category category = new Category();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id" -> category.setId(intValue(p));
+                case "code" -> category.setCode(text(p));
+                case "title" -> category.setTitle(text(p));
+                default -> p.skipChildren();
+            }
+        }
+        return category;
+    }
+
+    private static Budget budget(JsonParser p) throws IOException {
+        if (!startObject(p)) return null;
+        Budget budget = new Budget();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "Amount" -> budget.setAmount(doubleValue(p));
+                case "AmountTitle" -> budget.setAmountTitle(text(p));
+                case "WithVat" -> budget.setWithVat(booleanValue(p));
+                case "VatTitle" -> budget.setVatTitle(text(p));
+                case "CurrencyTitle" -> budget.setCurrencyTitle(text(p));
+                case "CurrencyHtmlTitle" -> budget.setCurrencyHtmlTitle(text(p));
+                case "CurrencyId" -> budget.setCurrencyId(intValue(p));
+                default -> p.skipChildren();
+            }
+        }
+        return budget;
+    }
+
+    private static ImportantDates importantDates(JsonParser p) throws IOException {
+        if (!startObject(p)) return null;
+        ImportantDates dates = new ImportantDates();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "EnquiryPeriodStart" -> dates.setEnquiryPeriodStart(text(p));
+                case "EnquiryPeriodEnd" -> dates.setEnquiryPeriodEnd(text(p));
+                case "TenderingPeriodEnd" -> dates.setTenderingPeriodEnd(text(p));
+                case "AuctionStart" -> dates.setAuctionStart(text(p));
+                default -> p.skipChildren();
+            }
+        }
+        return dates;
+    }
+
+    private static Guarantee guarantee(JsonParser p) throws IOException {
+        if (!startObject(p)) return null;
+        Guarantee guarantee = new Guarantee();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if (field.equals("AmountTitle")) {
+                guarantee.setAmountTitle(booleanValue(p));
+            } else {
+                p.skipChildren();
+            }
+        }
+        return guarantee;
+    }
+
+    /** Every line becomes an item; only the first one's delivery address and period are read. */
+    private static List<Nomenclatures> nomenclatures(JsonParser p) throws IOException {
+        if (!startArray(p)) return null;
+        List<Nomenclatures> nomenclatures = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (!startObject(p)) {
+                nomenclatures.add(null);
+                continue;
+            }
+            boolean first = nomenclatures.isEmpty();
+            Nomenclatures line = new Nomenclatures();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "Title" -> line.setTitle(text(p));
+                    case "Count" -> line.setCount(text(p));
+                    case "DeliveryAddress" -> {
+                        if (first) line.setDeliveryAdress(text(p));
+                    }
+                    case "DeliveryPeriodTo" -> {
+                        if (first) line.setDeliveryPeriodTo(text(p));
+                    }
+                    default -> p.skipChildren();
+                }
+            }
+            nomenclatures.add(line);
+        }
+        return nomenclatures;
+    }
+
+    private static PaymentTerms paymentTerms(JsonParser p) throws IOException {
+        PaymentTerms terms = new PaymentTerms();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if (field.equals("Days")) {
+                Long days = longValue(p);
+                terms.setDays(days != null ? days.intValue() : null);
+            } else {
+                p.skipChildren();
+            }
+        }
+        return terms;
+    }
+
+    private static Awards award(JsonParser p) throws IOException {
+        Awards award = new Awards();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if (field.equals("ComplaintPeriodStart")) {
+                String start = text(p);
+                award.setComplaintPeriodStart(start == null || start.isBlank() ? null : LocalDateTime.parse(start));
+            } else {
+                p.skipChildren();
+            }
+        }
+        return award;
+    }
+
+    private static ParticipantContracts participantContracts(JsonParser p) throws IOException {
+        ParticipantContracts participant = new ParticipantContracts();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "ParticipantTitle" -> participant.setParticipantTitle(text(p));
+                case "Contracts" -> participant.setContracts(first(p, TenderModelReader::contract));
+                default -> p.skipChildren();
+            }
+        }
+        return participant;
+    }
+
+    private static Contracts contract(JsonParser p) throws IOException {
+        Contracts contract = new Contracts();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "Status" -> contract.setStatus(status(p));
+                case "Amount" -> contract.setAmount(longValue(p));
+                case "Documents" -> contract.setDocuments(first(p, TenderModelReader::document));
+                default -> p.skipChildren();
+            }
+        }
+        return contract;
+    }
+
+    private static Status status(JsonParser p) throws IOException {
+        if (!startObject(p)) return null;
+        Status status = new Status();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if (field.equals("Title")) {
+                status.setTitle(text(p));
+            } else {
+                p.skipChildren();
+            }
+        }
+        return status;
+    }
+
+    private static Documents document(JsonParser p) throws IOException {
+        Documents document = new Documents();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "Id" -> document.setId(longValue(p));
+                case "DateModified" -> document.setDateModified(text(p));
+                case "ViewUrl" -> document.setViewUrl(text(p));
+                default -> p.skipChildren();
+            }
+        }
+        return document;
+    }
+
+    /** Reads the first object of an array and skips the rest; an empty array stays empty. */
+    private static <T> List<T> first(JsonParser p, ObjectReader<T> reader) throws IOException {
+        if (!startArray(p)) return null;
+        List<T> result = new ArrayList<>(1);
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (!result.isEmpty()) {
+                p.skipChildren();
+            } else {
+                result.add(startObject(p) ? reader.read(p) : null);
+            }
+        }
+        return result;
+    }
+
+    private static boolean startObject(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return false;
+        expectObject(p);
+        return true;
+    }
+
+    private static boolean startArray(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) return false;
+        if (token != JsonToken.START_ARRAY) {
+            throw new JsonParseException(p, "Expected array but found " + token);
+        }
+        return true;
+    }
+
+    private static void expectObject(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(p, "Expected object but found " + p.currentToken());
+        }
+    }
+
+    private static String text(JsonParser p) throws IOException {
+        if (p.currentToken().isScalarValue()) {
+            return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getText();
+        }
+        p.skipChildren();
+        return null;
+    }
+
+    private static Long longValue(JsonParser p) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getValueAsLong();
+            case VALUE_STRING -> p.getText().isBlank() ? null : Long.valueOf(p.getText().trim());
+            default -> {
+                p.skipChildren();
+                yield null;
+            }
+        };
+    }
+
+    private static int intValue(JsonParser p) throws IOException {
+        Long value = longValue(p);
+        return value != null ? value.intValue() : 0;
+    }
+
+    private static double doubleValue(JsonParser p) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getValueAsDouble();
+            case VALUE_STRING -> p.getText().isBlank() ? 0 : Double.parseDouble(p.getText().trim());
+            default -> {
+                p.skipChildren();
+                yield 0;
+            }
+        };
+    }
+
+    private static boolean booleanValue(JsonParser p) throws IOException {
+        p.skipChildren();
+        return p.getValueAsBoolean();
+    }
+
+    @FunctionalInterface
+    private interface ObjectReader<T> {
+        T read(JsonParser p) throws IOException;
+    }
+}
@@ -0,0 +1,94 @@
+package com.tender_service.core.api.parsing_service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Tender ids the upstream could not resolve, so they stop costing a round trip each time they are asked
+ * for. An id the upstream reports as missing is not asked for again for {@code not-found-ttl}. An id whose
+ * fetch has failed {@code failure-threshold} times in a row waits {@code base-delay}, doubling with every
+ * further failure up to {@code max-delay}; the first success clears it. Failures that say nothing
+ * about the id itself (open circuit, full bulkhead, 429, rate limit) are not counted here.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamBackoff {
+
+    public enum Reason {
+        NOT_FOUND,
+        FAILING
+    }
+
+    public record Entry(Long tenderId, Reason reason, int failures, LocalDateTime retryAt, String lastError) {
+    }
+
+    @Autowired
+    private Cache<Long, Entry> upstreamBackoffCache;
+
+    @Value("${tender.api.backoff.not-found-ttl:1h}")
+    private Duration notFoundTtl = Duration.ofHours(1);
+    @Value("${tender.api.backoff.failure-threshold:3}")
+    private int failureThreshold = 3;
+    @Value("${tender.api.backoff.base-delay:1m}")
+    private Duration baseDelay = Duration.ofMinutes(1);
+    @Value("${tender.api.backoff.max-delay:6h}")
+    private Duration maxDelay = Duration.ofHours(6);
+
+    /** The entry that rules out a request for this id right now, or null. */
+    public Entry blocking(Long id) {
+        Entry entry = upstreamBackoffCache.getIfPresent(id);
+        return entry != null && entry.retryAt().isAfter(LocalDateTime.now()) ? entry : null;
+    }
+
+    /** How many fetches of this id have failed in a row, counting only failures that say something about the id. */
+    public int failures(Long id) {
+        Entry entry = upstreamBackoffCache.getIfPresent(id);
+        return entry != null && entry.reason() == Reason.FAILING ? entry.failures() : 0;
+    }
+
+    public void notFound(Long id) {
+        upstreamBackoffCache.put(id, new Entry(id, Reason.NOT_FOUND, 0, LocalDateTime.now().plus(notFoundTtl), null));
+    }
+
+    public void failed(Long id, Exception cause) {
+        upstreamBackoffCache.asMap().compute(id, (key, previous) -> {
+            int failures = previous != null && previous.reason() == Reason.FAILING ? previous.failures() + 1 : 1;
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime retryAt = failures < failureThreshold ? now : now.plus(delay(failures - failureThreshold + 1));
+            return new Entry(key, Reason.FAILING, failures, retryAt,
+                    cause.getClass().getSimpleName() + ": " + cause.getMessage());
+        });
+    }
+
+    public void succeeded(Long id) {
+        upstreamBackoffCache.invalidate(id);
+    }
+
+    public List<Entry> entries() {
+        return upstreamBackoffCache.asMap().values().stream()
+                .sorted(Comparator.comparing(Entry::retryAt))
+                .toList();
+    }
+
+    public boolean clear(Long id) {
+        return upstreamBackoffCache.asMap().remove(id) != null;
+    }
+
+    public void clearAll() {
+        upstreamBackoffCache.invalidateAll();
+    }
+
+    /** {@code base-delay} for the first backed-off failure, doubled for each one after it. */
+    Duration delay(int backedOff) {
+        Duration delay = baseDelay.multipliedBy(1L << Math.min(backedOff - 1, 30));
+        return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+    }
+}
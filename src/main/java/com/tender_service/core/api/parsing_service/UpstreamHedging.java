@@ -0,0 +1,171 @@
+package com.tender_service.core.api.parsing_service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Hedged interactive calls, off unless {@code tender.api.hedge.enabled}. The latencies of the last
+ * {@value #WINDOW} answered primary requests are kept in a ring buffer (hedges are left out, since they
+ * only measure the tail end of a slow call); once a call has gone unanswered for their
+ * {@code percentile} (at least {@code min-delay}), one identical request is sent alongside it and whichever
+ * answers first wins. The other is left to finish and its answer dropped. Every call earns
+ * {@code budget-ratio} of a hedge, with at most {@value #MAX_SAVED_HEDGES} saved up, so hedges stay a small
+ * share of the traffic, and the caller can veto a hedge while the upstream is struggling. Published as
+ * {@code tender.api.hedge{outcome=sent|won|denied}}.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamHedging {
+
+    private static final int WINDOW = 256;
+    private static final long HEDGE_COST = 1_000;
+    private static final int MAX_SAVED_HEDGES = 10;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tender.api.hedge.enabled:false}")
+    private boolean enabled = false;
+    @Value("${tender.api.hedge.percentile:0.95}")
+    private double percentile = 0.95;
+    @Value("${tender.api.hedge.min-delay:50ms}")
+    private Duration minDelay = Duration.ofMillis(50);
+    @Value("${tender.api.hedge.min-samples:50}")
+    private int minSamples = 50;
+    @Value("${tender.api.hedge.budget-ratio:0.05}")
+    private double budgetRatio = 0.05;
+
+    private final AtomicLongArray latencies = new AtomicLongArray(WINDOW);
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong budget = new AtomicLong();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Runs {@code primary} and, if it is still out after the hedge delay and the budget and {@code mayHedge}
+     * allow it, {@code hedge} next to it. Fails only when every request sent fails, with the primary's error.
+     * Both are meant to be one attempt; retries belong around this call.
+     */
+    public <T> T call(Supplier<T> primary, Supplier<T> hedge, BooleanSupplier mayHedge) {
+        if (!enabled) return primary.get();
+
+        Supplier<T> timed = timed(primary);
+        budget.getAndUpdate(saved -> Math.min(saved + (long) (budgetRatio * HEDGE_COST), MAX_SAVED_HEDGES * HEDGE_COST));
+        Duration delay = hedgeDelay();
+        if (delay == null) return timed.get();
+
+        CompletableFuture<T> first = CompletableFuture.supplyAsync(timed, executor);
+        try {
+            return first.get(delay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Still out: hedge below.
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ParsingServiceException("Interrupted while waiting for the tender API", e);
+        }
+
+        if (!spend(mayHedge)) {
+            count("denied");
+            return join(first);
+        }
+        count("sent");
+        CompletableFuture<T> second = CompletableFuture.supplyAsync(hedge, executor);
+
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failed = new AtomicInteger();
+        first.whenComplete((result, error) -> {
+            if (error == null) {
+                winner.complete(result);
+            } else if (failed.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        });
+        second.whenComplete((result, error) -> {
+            if (error == null) {
+                if (winner.complete(result)) {
+                    count("won");
+                }
+            } else if (failed.incrementAndGet() == 2) {
+                winner.completeExceptionally(first.exceptionNow());
+            }
+        });
+        return join(winner);
+    }
+
+    /** The hedge delay from the recent latencies, or null until there are {@code min-samples} of them. */
+    Duration hedgeDelay() {
+        int samples = (int) Math.min(recorded.get(), WINDOW);
+        if (samples < minSamples) return null;
+
+        long[] sorted = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        int rank = Math.max(0, Math.min(samples - 1, (int) Math.ceil(percentile * samples) - 1));
+        Duration delay = Duration.ofNanos(sorted[rank]);
+        return delay.compareTo(minDelay) < 0 ? minDelay : delay;
+    }
+
+    /** Records the request's latency when it answers, also when a hedge has answered first. */
+    private <T> Supplier<T> timed(Supplier<T> request) {
+        return () -> {
+            long start = System.nanoTime();
+            T result = request.get();
+            latencies.set((int) (recorded.getAndIncrement() % WINDOW), System.nanoTime() - start);
+            return result;
+        };
+    }
+
+    private boolean spend(BooleanSupplier mayHedge) {
+        long saved;
+        do {
+            saved = budget.get();
+            if (saved < HEDGE_COST) return false;
+        } while (!budget.compareAndSet(saved, saved - HEDGE_COST));
+
+        if (mayHedge.getAsBoolean()) return true;
+        budget.addAndGet(HEDGE_COST);
+        return false;
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("tender.api.hedge", "outcome", outcome).increment();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof RuntimeException runtime) return runtime;
+        if (error instanceof Error fatal) throw fatal;
+        return new ParsingServiceException("Tender API call failed", error);
+    }
+}
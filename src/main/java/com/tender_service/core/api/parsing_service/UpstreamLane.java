@@ -0,0 +1,27 @@
+package com.tender_service.core.api.parsing_service;
+
+/**
+ * Budget an upstream call is made under. Each lane has its own resilience4j circuit breaker, bulkhead and
+ * retry instance (configured under {@code resilience4j.*.instances.<instance>}) and its own timeouts, so a
+ * slow refresh cannot use up what a user request needs. Lanes are declared in the priority order in which
+ * {@link UpstreamRateLimiter} hands out its tokens.
+ */
+public enum UpstreamLane {
+
+    /** A user is waiting: short timeouts, one quick retry, rejected at once when saturated. */
+    INTERACTIVE("tender-interactive"),
+    /** Bulk import started by an admin: the background budget, ahead of refresh for rate-limit tokens. */
+    BULK("tender-background"),
+    /** Refresh: longer timeouts, more retries, waits for a bulkhead permit. */
+    BACKGROUND("tender-background");
+
+    private final String instance;
+
+    UpstreamLane(String instance) {
+        this.instance = instance;
+    }
+
+    public String instance() {
+        return instance;
+    }
+}
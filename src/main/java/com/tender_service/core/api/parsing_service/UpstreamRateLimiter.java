@@ -0,0 +1,139 @@
+package com.tender_service.core.api.parsing_service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One token bucket per node for every call to the tender API: {@code requests-per-second} on average, up to
+ * {@code burst} back to back. The bucket is kept as the time it will be empty and updated with a CAS, so
+ * taking a free token costs no lock. Lanes take from the same bucket in priority order: a BULK call only
+ * takes a token while {@code bulk-headroom} tokens stay behind, a BACKGROUND call while
+ * {@code background-headroom} do, and INTERACTIVE calls may use what is left. Lower lanes re-check after
+ * waiting instead of booking a future token, so interactive calls that arrive meanwhile still go first.
+ * Time spent waiting is published as {@code tender.api.rate-limit.wait{lane}}, calls given up after their
+ * lane's maximum wait as {@code tender.api.rate-limit.rejected{lane}} and the tokens left as
+ * {@code tender.api.rate-limit.tokens}. A non-positive rate disables limiting.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamRateLimiter implements MeterBinder {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tender.api.rate-limit.requests-per-second:10}")
+    private double requestsPerSecond = 10;
+    @Value("${tender.api.rate-limit.burst:10}")
+    private int burst = 10;
+    @Value("${tender.api.rate-limit.bulk-headroom:3}")
+    private int bulkHeadroom = 3;
+    @Value("${tender.api.rate-limit.background-headroom:5}")
+    private int backgroundHeadroom = 5;
+    @Value("${tender.api.rate-limit.interactive-max-wait:1s}")
+    private Duration interactiveMaxWait = Duration.ofSeconds(1);
+    @Value("${tender.api.rate-limit.background-max-wait:1m}")
+    private Duration backgroundMaxWait = Duration.ofMinutes(1);
+
+    private final AtomicLong emptyAt = new AtomicLong(System.nanoTime());
+
+    /** Blocks until the lane may make one call, or throws {@link Rejected} once that is past its maximum wait. */
+    public void acquire(UpstreamLane lane) {
+        if (requestsPerSecond <= 0) return;
+
+        long interval = interval();
+        long ahead = ahead(lane, interval);
+        long start = System.nanoTime();
+        long deadline = start + maxWait(lane).toNanos();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                long empty = emptyAt.get();
+                long next = Math.max(empty, now) + interval;
+                long allowedAt = next - ahead;
+                if (allowedAt > now && allowedAt > deadline) {
+                    meterRegistry.counter("tender.api.rate-limit.rejected", "lane", lane.name()).increment();
+                    throw new Rejected(lane);
+                }
+                if (allowedAt <= now || lane == UpstreamLane.INTERACTIVE) {
+                    if (emptyAt.compareAndSet(empty, next)) {
+                        if (allowedAt > now) {
+                            TimeUnit.NANOSECONDS.sleep(allowedAt - now);
+                        }
+                        break;
+                    }
+                } else {
+                    TimeUnit.NANOSECONDS.sleep(allowedAt - now);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Rejected(lane);
+        }
+        meterRegistry.timer("tender.api.rate-limit.wait", "lane", lane.name())
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /** Takes a token only if the lane could have one right now; never waits and is not counted as rejected. */
+    public boolean tryAcquire(UpstreamLane lane) {
+        if (requestsPerSecond <= 0) return true;
+
+        long interval = interval();
+        long ahead = ahead(lane, interval);
+        while (true) {
+            long now = System.nanoTime();
+            long empty = emptyAt.get();
+            long next = Math.max(empty, now) + interval;
+            if (next - ahead > now) return false;
+            if (emptyAt.compareAndSet(empty, next)) return true;
+        }
+    }
+
+    /** Tokens that could be taken right now, fractional while one refills. */
+    public double availableTokens() {
+        if (requestsPerSecond <= 0) return burst;
+        double free = (double) (System.nanoTime() - emptyAt.get()) / interval() + burst;
+        return Math.max(0, Math.min(burst, free));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tender.api.rate-limit.tokens", this, UpstreamRateLimiter::availableTokens).register(registry);
+    }
+
+    private long interval() {
+        return (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+    }
+
+    /** How far past now the bucket's empty time may move for this lane: its share of the burst. */
+    private long ahead(UpstreamLane lane, long interval) {
+        return Math.max(1, burst - headroom(lane)) * interval;
+    }
+
+    private int headroom(UpstreamLane lane) {
+        return switch (lane) {
+            case INTERACTIVE -> 0;
+            case BULK -> bulkHeadroom;
+            case BACKGROUND -> backgroundHeadroom;
+        };
+    }
+
+    private Duration maxWait(UpstreamLane lane) {
+        return lane == UpstreamLane.INTERACTIVE ? interactiveMaxWait : backgroundMaxWait;
+    }
+
+    /** The lane's maximum wait would pass before a token frees up for it. */
+    public static class Rejected extends RuntimeException {
+        public Rejected(UpstreamLane lane) {
+            super("Tender API rate limit reached for the " + lane.name() + " lane");
+        }
+    }
+}
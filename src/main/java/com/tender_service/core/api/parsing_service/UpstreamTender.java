@@ -0,0 +1,18 @@
+package com.tender_service.core.api.parsing_service;
+
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+
+/**
+ * Result of a conditional fetch: the parsed body with the validators to send next time, or no body when
+ * the upstream answered 304 Not Modified.
+ */
+public record UpstreamTender(ParsedTenderDTO tender, String etag, String lastModified, boolean notModified) {
+
+    public static UpstreamTender modified(ParsedTenderDTO tender, String etag, String lastModified) {
+        return new UpstreamTender(tender, etag, lastModified, false);
+    }
+
+    public static UpstreamTender notModified(String etag, String lastModified) {
+        return new UpstreamTender(null, etag, lastModified, true);
+    }
+}
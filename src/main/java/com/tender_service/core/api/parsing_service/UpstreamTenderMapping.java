@@ -0,0 +1,251 @@
+package com.tender_service.core.api.parsing_service;
+
+import com.tender_service.core.api.database.entity.ItemCwk;
+import com.tender_service.core.api.database.entity.Participant;
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.core.api.database.entity.UserCwk;
+import com.tender_service.core.api.parsing_service.models.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The one mapping from upstream tender data to {@link TenderCwk}, shared by imports and the refresh job.
+ * {@link #newTender} builds the entity for an import; {@link #diff} compares a stored tender with a fresh
+ * upstream copy field by field. {@link Policy#ALWAYS} fields follow upstream, {@link Policy#FILL_IF_NULL}
+ * fields are only filled while empty so values edited through the API are kept.
+ */
+public final class UpstreamTenderMapping {
+
+    public enum Policy { ALWAYS, FILL_IF_NULL }
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final String SIGNED = "Підписаний";
+
+    /**
+     * A mapped entity property: its upstream value, read with the stored tender at hand, and its accessors.
+     * A {@code null} upstream value never overwrites anything.
+     */
+    public record Field<T>(String name, Policy policy, BiFunction<ParsedTenderDTO, TenderCwk, T> source,
+                           Function<TenderCwk, T> getter, BiConsumer<TenderCwk, T> setter) {
+
+        private Change<T> compare(TenderCwk tender, ParsedTenderDTO parsed) {
+            T after = source.apply(parsed, tender);
+            if (after == null) return null;
+            T before = getter.apply(tender);
+            if (policy == Policy.FILL_IF_NULL && before != null) return null;
+            return Objects.equals(before, after) ? null : new Change<>(this, before, after);
+        }
+    }
+
+    public record Change<T>(Field<T> field, T before, T after) {
+
+        /** Sets the new value, unless it is a fill-only field that the tender has meanwhile got a value for. */
+        private void applyTo(TenderCwk tender) {
+            if (field.policy() == Policy.FILL_IF_NULL && field.getter().apply(tender) != null) return;
+            field.setter().accept(tender, after);
+        }
+    }
+
+    public record Diff(List<Change<?>> changes) {
+
+        public boolean isEmpty() {
+            return changes.isEmpty();
+        }
+
+        /** Applies the changes to {@code tender}, which may be a newer copy than the one diffed. */
+        public void applyTo(TenderCwk tender) {
+            changes.forEach(change -> change.applyTo(tender));
+        }
+
+        /** Comma-separated property names, as stored in {@code LAST_CHANGED_FIELDS}. */
+        public String fieldNames() {
+            return changes.stream().map(change -> change.field().name()).collect(Collectors.joining(","));
+        }
+    }
+
+    public static final List<Field<?>> FIELDS = List.of(
+            field("statusTitle", Policy.ALWAYS, (p, t) -> p.getStatusTitle(), TenderCwk::getStatusTitle, TenderCwk::setStatusTitle),
+            field("prozorroNumber", Policy.FILL_IF_NULL, (p, t) -> p.getProzorroNumber(), TenderCwk::getProzorroNumber, TenderCwk::setProzorroNumber),
+            field("procedureType", Policy.FILL_IF_NULL, (p, t) -> p.getProcedureType(), TenderCwk::getProcedureType, TenderCwk::setProcedureType),
+            field("title", Policy.FILL_IF_NULL, (p, t) -> p.getTitle(), TenderCwk::getTitle, TenderCwk::setTitle),
+            field("organizerName", Policy.FILL_IF_NULL, (p, t) -> organizer(p, Organizer::getName), TenderCwk::getOrganizerName, TenderCwk::setOrganizerName),
+            field("organizerUsreou", Policy.FILL_IF_NULL, (p, t) -> organizer(p, Organizer::getUsreou), TenderCwk::getOrganizerUsreou, TenderCwk::setOrganizerUsreou),
+            field("organizerAddress", Policy.FILL_IF_NULL, (p, t) -> organizer(p, Organizer::getAddress), TenderCwk::getOrganizerAddress, TenderCwk::setOrganizerAddress),
+            field("contactPersonName", Policy.FILL_IF_NULL, (p, t) -> contactPerson(p, ContactPerson::getName), TenderCwk::getContactPersonName, TenderCwk::setContactPersonName),
+            field("contactPersonPhone", Policy.FILL_IF_NULL, (p, t) -> contactPerson(p, ContactPerson::getPhone), TenderCwk::getContactPersonPhone, TenderCwk::setContactPersonPhone),
+            field("contactPersonEmail", Policy.FILL_IF_NULL, (p, t) -> contactPerson(p, ContactPerson::getEmail), TenderCwk::getContactPersonEmail, TenderCwk::setContactPersonEmail),
+            field("categoryId", Policy.FILL_IF_NULL, (p, t) -> p.getCategory() != null ? p.getCategory().getId() : null, TenderCwk::getCategoryId, TenderCwk::setCategoryId),
+            field("categoryCode", Policy.FILL_IF_NULL, (p, t) -> p.getCategory() != null ? p.getCategory().getCode() : null, TenderCwk::getCategoryCode, TenderCwk::setCategoryCode),
+            field("categoryTitle", Policy.FILL_IF_NULL, (p, t) -> p.getCategory() != null ? p.getCategory().getTitle() : null, TenderCwk::getCategoryTitle, TenderCwk::setCategoryTitle),
+            field("budgetAmount", Policy.FILL_IF_NULL, (p, t) -> p.getBudget() != null ? p.getBudget().getAmount() : null, TenderCwk::getBudgetAmount, TenderCwk::setBudgetAmount),
+            field("budgetAmountTitle", Policy.FILL_IF_NULL, (p, t) -> budget(p, Budget::getAmountTitle), TenderCwk::getBudgetAmountTitle, TenderCwk::setBudgetAmountTitle),
+            field("withVat", Policy.FILL_IF_NULL, (p, t) -> p.getBudget() != null ? p.getBudget().isWithVat() : null, TenderCwk::getWithVat, TenderCwk::setWithVat),
+            field("vatTitle", Policy.FILL_IF_NULL, (p, t) -> budget(p, Budget::getVatTitle), TenderCwk::getVatTitle, TenderCwk::setVatTitle),
+            field("currencyTitle", Policy.FILL_IF_NULL, (p, t) -> budget(p, Budget::getCurrencyTitle), TenderCwk::getCurrencyTitle, TenderCwk::setCurrencyTitle),
+            field("currencyHtmlTitle", Policy.FILL_IF_NULL, (p, t) -> budget(p, Budget::getCurrencyHtmlTitle), TenderCwk::getCurrencyHtmlTitle, TenderCwk::setCurrencyHtmlTitle),
+            field("currencyId", Policy.FILL_IF_NULL, (p, t) -> p.getBudget() != null ? p.getBudget().getCurrencyId() : null, TenderCwk::getCurrencyId, TenderCwk::setCurrencyId),
+            field("participantCost", Policy.FILL_IF_NULL, (p, t) -> p.getParticipationCost(), TenderCwk::getParticipantCost, TenderCwk::setParticipantCost),
+            field("deliveryAddress", Policy.FILL_IF_NULL, (p, t) -> firstNomenclature(p, Nomenclatures::getDeliveryAdress), TenderCwk::getDeliveryAddress, TenderCwk::setDeliveryAddress),
+            field("deliveryPeriodTo", Policy.FILL_IF_NULL, (p, t) -> date(firstNomenclature(p, Nomenclatures::getDeliveryPeriodTo)), TenderCwk::getDeliveryPeriodTo, TenderCwk::setDeliveryPeriodTo),
+            field("paymentTermsDay", Policy.FILL_IF_NULL, (p, t) -> first(p.getPaymentTerms()) != null ? first(p.getPaymentTerms()).getDays() : null, TenderCwk::getPaymentTermsDay, TenderCwk::setPaymentTermsDay),
+            field("guaranteeBank", Policy.FILL_IF_NULL, (p, t) -> p.getGuarantee() != null ? p.getGuarantee().isAmountTitle() : null, TenderCwk::isGuaranteeBank, TenderCwk::setGuaranteeBank),
+            field("enquiryPeriodStart", Policy.FILL_IF_NULL, (p, t) -> dateTime(importantDate(p, ImportantDates::getEnquiryPeriodStart)), TenderCwk::getEnquiryPeriodStart, TenderCwk::setEnquiryPeriodStart),
+            field("enquiryPeriodEnd", Policy.FILL_IF_NULL, (p, t) -> dateTime(importantDate(p, ImportantDates::getEnquiryPeriodEnd)), TenderCwk::getEnquiryPeriodEnd, TenderCwk::setEnquiryPeriodEnd),
+            field("tenderingPeriodEnd", Policy.FILL_IF_NULL, (p, t) -> dateTime(importantDate(p, ImportantDates::getTenderingPeriodEnd)), TenderCwk::getTenderingPeriodEnd, TenderCwk::setTenderingPeriodEnd),
+            field("auctionStart", Policy.FILL_IF_NULL, (p, t) -> dateTime(importantDate(p, ImportantDates::getAuctionStart)), TenderCwk::getAuctionStart, TenderCwk::setAuctionStart),
+            field("qualificationDate", Policy.FILL_IF_NULL, (p, t) -> qualificationDate(p), TenderCwk::getQualificationDate, TenderCwk::setQualificationDate),
+            field("idDeal", Policy.FILL_IF_NULL, (p, t) -> dealDocument(p, t) != null && dealDocument(p, t).getId() != null ? String.valueOf(dealDocument(p, t).getId()) : null, TenderCwk::getIdDeal, TenderCwk::setIdDeal),
+            field("dateDeal", Policy.FILL_IF_NULL, (p, t) -> dealDocument(p, t) != null ? dateTime(dealDocument(p, t).getDateModified()) : null, TenderCwk::getDateDeal, TenderCwk::setDateDeal),
+            field("amountDeal", Policy.FILL_IF_NULL, (p, t) -> signedContract(p, t) != null ? signedContract(p, t).getAmount() : null, TenderCwk::getAmountDeal, TenderCwk::setAmountDeal),
+            field("urlDeal", Policy.FILL_IF_NULL, (p, t) -> dealDocument(p, t) != null ? dealDocument(p, t).getViewUrl() : null, TenderCwk::getUrlDeal, TenderCwk::setUrlDeal)
+    );
+
+    private UpstreamTenderMapping() {
+    }
+
+    /** A tender as imported: every mapped field upstream has a value for, plus one item per nomenclature line. */
+    public static TenderCwk newTender(UserCwk user, Long id, ParsedTenderDTO parsed) {
+        TenderCwk tender = new TenderCwk(id);
+        tender.setUser(user);
+        // Due right away; the refresh worker then places it by its lifecycle dates.
+        tender.setNextRefreshAt(LocalDateTime.now());
+
+        if (parsed != null) {
+            for (Field<?> field : FIELDS) {
+                set(field, tender, parsed);
+            }
+            if (parsed.getNomenclaturesList() != null) {
+                List<ItemCwk> items = new ArrayList<>(parsed.getNomenclaturesList().size());
+                for (Nomenclatures nomenclature : parsed.getNomenclaturesList()) {
+                    if (nomenclature == null) continue;
+                    ItemCwk item = new ItemCwk();
+                    item.setTender(tender);
+                    item.setCount(nomenclature.getCount());
+                    item.setTitle(nomenclature.getTitle());
+                    items.add(item);
+                }
+                tender.setItems(items);
+            }
+        }
+        return tender;
+    }
+
+    /** The changes {@code parsed} would make to {@code tender} under each field's policy; nothing is applied. */
+    public static Diff diff(TenderCwk tender, ParsedTenderDTO parsed) {
+        List<Change<?>> changes = new ArrayList<>();
+        for (Field<?> field : FIELDS) {
+            Change<?> change = field.compare(tender, parsed);
+            if (change != null) {
+                changes.add(change);
+            }
+        }
+        return new Diff(changes);
+    }
+
+    /**
+     * What {@link #diff} reads from the stored tender besides the upstream copy: which fill-only fields are
+     * still empty, and the participant the deal fields are matched against.
+     */
+    public static String localInputs(TenderCwk tender) {
+        StringBuilder inputs = new StringBuilder(FIELDS.size() + 32);
+        for (Field<?> field : FIELDS) {
+            if (field.policy() == Policy.FILL_IF_NULL) {
+                inputs.append(field.getter().apply(tender) == null ? '0' : '1');
+            }
+        }
+        Participant participant = tender.getParticipant();
+        return inputs.append('|').append(participant != null ? participant.getName() : null).toString();
+    }
+
+    private static <T> void set(Field<T> field, TenderCwk tender, ParsedTenderDTO parsed) {
+        T value = field.source().apply(parsed, tender);
+        if (value != null) {
+            field.setter().accept(tender, value);
+        }
+    }
+
+    private static <T> Field<T> field(String name, Policy policy, BiFunction<ParsedTenderDTO, TenderCwk, T> source,
+                                      Function<TenderCwk, T> getter, BiConsumer<TenderCwk, T> setter) {
+        return new Field<>(name, policy, source, getter, setter);
+    }
+
+    private static <T> T organizer(ParsedTenderDTO parsed, Function<Organizer, T> value) {
+        return parsed.getOrganizer() != null ? value.apply(parsed.getOrganizer()) : null;
+    }
+
+    private static <T> T contactPerson(ParsedTenderDTO parsed, Function<ContactPerson, T> value) {
+        return parsed.getOrganizer() != null && parsed.getOrganizer().getContactPerson() != null
+                ? value.apply(parsed.getOrganizer().getContactPerson()) : null;
+    }
+
+    private static <T> T budget(ParsedTenderDTO parsed, Function<Budget, T> value) {
+        return parsed.getBudget() != null ? value.apply(parsed.getBudget()) : null;
+    }
+
+    private static String importantDate(ParsedTenderDTO parsed, Function<ImportantDates, String> value) {
+        return parsed.getImportantDates() != null ? value.apply(parsed.getImportantDates()) : null;
+    }
+
+    private static String firstNomenclature(ParsedTenderDTO parsed, Function<Nomenclatures, String> value) {
+        Nomenclatures first = first(parsed.getNomenclaturesList());
+        return first != null ? value.apply(first) : null;
+    }
+
+    private static LocalDateTime qualificationDate(ParsedTenderDTO parsed) {
+        Awards award = first(parsed.getAwards());
+        return award != null && award.getComplaintPeriodStart() != null ? award.getComplaintPeriodStart().plusDays(4) : null;
+    }
+
+    /**
+     * The first participant's first contract once it is signed. When the tender already has a participant,
+     * the upstream participant must be that one.
+     */
+    private static Contracts signedContract(ParsedTenderDTO parsed, TenderCwk tender) {
+        ParticipantContracts participantContracts = first(parsed.getParticipantContracts());
+        if (participantContracts == null) return null;
+        if (tender.getParticipant() != null && tender.getParticipant().getName() != null
+                && (participantContracts.getParticipantTitle() == null
+                || !participantContracts.getParticipantTitle().contains(tender.getParticipant().getName()))) {
+            return null;
+        }
+        Contracts contract = first(participantContracts.getContracts());
+        return contract != null && contract.getStatus() != null && SIGNED.equals(contract.getStatus().getTitle())
+                ? contract : null;
+    }
+
+    private static Documents dealDocument(ParsedTenderDTO parsed, TenderCwk tender) {
+        Contracts contract = signedContract(parsed, tender);
+        return contract != null ? first(contract.getDocuments()) : null;
+    }
+
+    private static <T> T first(List<T> list) {
+        return list != null && !list.isEmpty() ? list.getFirst() : null;
+    }
+
+    private static LocalDateTime dateTime(String value) {
+        try {
+            return value != null ? LocalDateTime.parse(value, DATE_TIME) : null;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static LocalDate date(String value) {
+        try {
+            return value != null ? LocalDate.parse(value, DATE) : null;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
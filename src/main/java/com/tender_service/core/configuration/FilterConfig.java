@@ -0,0 +1,31 @@
+package com.tender_service.core.configuration;
+
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.utils.filter.FilterCompiler;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+@Configuration
+public class FilterConfig {
+
+    public static final Set<String> RESERVED_PARAMS = Set.of(
+            "pageNumber", "pageSize", "sortBy", "sortDirection", "cursor", "format", "groupBy"
+    );
+
+    /** Refresh bookkeeping stored on the tender but not part of its data; never a filter or sort key. */
+    public static final Set<String> INTERNAL_ATTRIBUTES = Set.of(
+            "contentHash", "upstreamEtag", "upstreamLastModified", "nextRefreshAt", "lastChangedFields"
+    );
+
+    @Bean
+    public FilterCompiler<TenderCwk> tenderFilterCompiler(EntityManagerFactory entityManagerFactory) {
+        return FilterCompiler.forEntity(
+                entityManagerFactory.getMetamodel().entity(TenderCwk.class),
+                RESERVED_PARAMS,
+                INTERNAL_ATTRIBUTES
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package com.tender_service.core.configuration;
 
+import com.tender_service.core.api.parsing_service.ParsingServiceException;
 import io.swagger.v3.oas.annotations.Hidden;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -64,6 +65,11 @@ public class GlobalExceptionHandler {
                 .body("File system error: " + ex.getMessage());
     }
 
+    @ExceptionHandler(ParsingServiceException.class)
+    public ResponseEntity<String> handleParsingServiceException(ParsingServiceException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<String> handleIllegalStateException(IllegalStateException ex) {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
@@ -0,0 +1,105 @@
+package com.tender_service.core.configuration;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tender_service.core.api.parsing_service.UpstreamBackoff;
+import com.tender_service.core.api.parsing_service.UpstreamTender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineStatsCounter;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ParsingServiceConfig {
+
+    /**
+     * Parsed upstream tenders by id. Loads are blocking upstream calls, so they run on virtual threads rather
+     * than the common pool. Hit, miss, load-duration and eviction meters are published under
+     * {@code cache.*{cache=upstreamTenders}}.
+     */
+    @Bean
+    public AsyncCache<Long, UpstreamTender> upstreamTenderCache(MeterRegistry meterRegistry,
+                                                           @Value("${tender.api.cache.ttl:5m}") Duration ttl,
+                                                           @Value("${tender.api.cache.max-size:10000}") long maxSize) {
+        CaffeineStatsCounter stats = new CaffeineStatsCounter(meterRegistry, "upstreamTenders");
+        AsyncCache<Long, UpstreamTender> cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .recordStats(() -> stats)
+                .buildAsync();
+        stats.registerSizeMetric(cache.synchronous());
+        return cache;
+    }
+
+    /**
+     * Backoff state of tender ids the upstream could not resolve ({@link UpstreamBackoff}), published under
+     * {@code cache.*{cache=upstreamBackoff}}. A not-found entry lapses at its retry time; a failing one is
+     * kept for another {@code max-delay} so a further failure keeps doubling the delay.
+     */
+    @Bean
+    public Cache<Long, UpstreamBackoff.Entry> upstreamBackoffCache(MeterRegistry meterRegistry,
+                                                                   @Value("${tender.api.backoff.max-delay:6h}") Duration maxDelay,
+                                                                   @Value("${tender.api.backoff.max-size:10000}") long maxSize) {
+        CaffeineStatsCounter stats = new CaffeineStatsCounter(meterRegistry, "upstreamBackoff");
+        Cache<Long, UpstreamBackoff.Entry> cache = Caffeine.newBuilder()
+                .expireAfter(new Expiry<Long, UpstreamBackoff.Entry>() {
+                    @Override
+                    public long expireAfterCreate(Long id, UpstreamBackoff.Entry entry, long currentTime) {
+                        LocalDateTime keepUntil = entry.reason() == UpstreamBackoff.Reason.NOT_FOUND
+                                ? entry.retryAt()
+                                : entry.retryAt().plus(maxDelay);
+                        return Math.max(0, Duration.between(LocalDateTime.now(), keepUntil).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, UpstreamBackoff.Entry entry, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(id, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, UpstreamBackoff.Entry entry, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .maximumSize(maxSize)
+                .recordStats(() -> stats)
+                .build();
+        stats.registerSizeMetric(cache);
+        return cache;
+    }
+
+    /** Retries belong to the resilience4j lanes; HttpClient's own retry of 503s and I/O errors would multiply them. */
+    @Bean
+    public HttpClientBuilderCustomizer tenderApiHttpClientCustomizer() {
+        return builder -> builder.disableAutomaticRetries();
+    }
+
+    /**
+     * Leased, available and pending connections of the pooled HttpClient 5 transport Feign uses for the
+     * tender API, published under {@code httpcomponents.httpclient.pool.*{httpclient=tenderApi}}.
+     */
+    @Bean
+    public MeterBinder tenderApiConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> {
+            if (connectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "tenderApi").bindTo(registry);
+            }
+        };
+    }
+}
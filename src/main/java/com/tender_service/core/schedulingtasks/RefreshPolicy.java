@@ -0,0 +1,93 @@
+package com.tender_service.core.schedulingtasks;
+
+import com.tender_service.core.api.database.entity.TenderCwk;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Picks a tender's next refresh time from its lifecycle fields: tenders whose enquiry or tendering
+ * period is about to close or whose auction is close are refreshed every few minutes, tenders still
+ * waiting for an award or a signed contract daily, and anything quiet weekly. A tender whose fetch failed
+ * is retried sooner, after {@link #retryDelay}, whatever its tier.
+ */
+@Component
+public class RefreshPolicy {
+
+    public enum Tier { HOT, WARM, DAILY, DORMANT }
+
+    private static final String SETTLED_STATUS = "Пропозиції розглянуті";
+
+    @Value("${tender.refresh.interval.hot:5m}")
+    private Duration hot = Duration.ofMinutes(5);
+    @Value("${tender.refresh.interval.warm:1h}")
+    private Duration warm = Duration.ofHours(1);
+    @Value("${tender.refresh.interval.daily:1d}")
+    private Duration daily = Duration.ofDays(1);
+    @Value("${tender.refresh.interval.dormant:7d}")
+    private Duration dormant = Duration.ofDays(7);
+    @Value("${tender.refresh.retry.base-delay:5m}")
+    private Duration retryBaseDelay = Duration.ofMinutes(5);
+    @Value("${tender.refresh.retry.max-delay:2h}")
+    private Duration retryMaxDelay = Duration.ofHours(2);
+
+    /** {@code null} once nothing is left to pick up, which drops the tender out of the refresh index. */
+    public LocalDateTime nextRefreshAt(TenderCwk tender, LocalDateTime now) {
+        return isSettled(tender) ? null : now.plus(interval(tierOf(tender, now)));
+    }
+
+    public Duration interval(Tier tier) {
+        return switch (tier) {
+            case HOT -> hot;
+            case WARM -> warm;
+            case DAILY -> daily;
+            case DORMANT -> dormant;
+        };
+    }
+
+    /**
+     * {@code retry.base-delay} after the first failed fetch in a row, doubled for each one after it, at most
+     * {@code retry.max-delay}.
+     */
+    public Duration retryDelay(int failures) {
+        Duration delay = retryBaseDelay.multipliedBy(1L << Math.min(Math.max(failures, 1) - 1, 30));
+        return delay.compareTo(retryMaxDelay) > 0 ? retryMaxDelay : delay;
+    }
+
+    public Tier tierOf(TenderCwk tender, LocalDateTime now) {
+        if (within(tender.getAuctionStart(), now, Duration.ofHours(6), Duration.ofHours(24))
+                || within(tender.getEnquiryPeriodEnd(), now, Duration.ZERO, Duration.ofHours(24))
+                || within(tender.getTenderingPeriodEnd(), now, Duration.ZERO, Duration.ofHours(24))) {
+            return Tier.HOT;
+        }
+        if (within(tender.getAuctionStart(), now, Duration.ZERO, Duration.ofDays(7))
+                || within(tender.getEnquiryPeriodEnd(), now, Duration.ZERO, Duration.ofDays(7))
+                || within(tender.getTenderingPeriodEnd(), now, Duration.ZERO, Duration.ofDays(7))
+                || within(tender.getQualificationDate(), now, Duration.ofDays(3), Duration.ofDays(3))) {
+            return Tier.WARM;
+        }
+        if (within(tender.getQualificationDate(), now, Duration.ofDays(30), Duration.ZERO)
+                || within(tender.getAuctionStart(), now, Duration.ofDays(30), Duration.ZERO)
+                || within(tender.getTenderingPeriodEnd(), now, Duration.ofDays(30), Duration.ZERO)) {
+            return Tier.DAILY;
+        }
+        return Tier.DORMANT;
+    }
+
+    /** Mirrors {@code TenderRepository.REFRESH_CANDIDATE}. */
+    public static boolean isSettled(TenderCwk tender) {
+        return SETTLED_STATUS.equals(tender.getStatusTitle())
+                && tender.getAuctionStart() != null
+                && tender.getQualificationDate() != null
+                && tender.getIdDeal() != null
+                && tender.getDateDeal() != null
+                && tender.getAmountDeal() != null
+                && tender.getUrlDeal() != null;
+    }
+
+    private static boolean within(LocalDateTime at, LocalDateTime now, Duration behind, Duration ahead) {
+        return at != null && !at.isBefore(now.minus(behind)) && !at.isAfter(now.plus(ahead));
+    }
+}
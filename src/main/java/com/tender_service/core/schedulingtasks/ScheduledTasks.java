@@ -1,117 +1,404 @@
 package com.tender_service.core.schedulingtasks;
 
+import com.tender_service.core.api.database.entity.RefreshShard;
 import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.core.api.database.repository.RefreshShardRepository;
 import com.tender_service.core.api.database.repository.TenderRepository;
 import com.tender_service.core.api.parsing_service.ParsingService;
-import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import com.tender_service.core.api.parsing_service.TenderFingerprint;
+import com.tender_service.core.api.parsing_service.UpstreamBackoff;
+import com.tender_service.core.api.parsing_service.UpstreamRateLimiter;
+import com.tender_service.core.api.parsing_service.UpstreamTender;
+import com.tender_service.core.api.parsing_service.UpstreamTenderMapping;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 
+@Slf4j
 @Component
 public class ScheduledTasks {
 
+    private static final PersistBatch END_OF_RUN = new PersistBatch(Map.of(), Map.of(), null, null);
+
     @Autowired
     private ParsingService parsingService;
     @Autowired
     private TenderRepository tenderRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private RefreshPolicy refreshPolicy;
+    @Autowired
+    private RefreshShardRepository refreshShardRepository;
+    @Autowired
+    private UpstreamBackoff upstreamBackoff;
 
-    @Scheduled(cron = "0 0 2 * * *")
-    public void updateTender() throws InterruptedException {
-        List<TenderCwk> tenders = tenderRepository.findAll();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
-
-        for (TenderCwk tender : tenders) {
-            boolean updated = false;
-
-            if (!Objects.equals(tender.getStatusTitle(), "Пропозиції розглянуті")
-                    || tender.getAuctionStart() == null
-                    || tender.getQualificationDate() == null
-                    || tender.getIdDeal() == null
-                    || tender.getDateDeal() == null
-                    || tender.getAmountDeal() == null
-                    || tender.getUrlDeal() == null) {
-                ParsedTenderDTO parsed = parsingService.getTenderById(tender.getId());
-
-                if (!Objects.equals(tender.getStatusTitle(), parsed.getStatusTitle())) {
-                    tender.setStatusTitle(parsed.getStatusTitle());
-                    updated = true;
-                }
+    @Value("${tender.refresh.concurrency:8}")
+    private int concurrency = 8;
+    @Value("${tender.refresh.chunk-size:500}")
+    private int chunkSize = 500;
+    @Value("${tender.refresh.persist-queue-capacity:2}")
+    private int persistQueueCapacity = 2;
+    @Value("${tender.refresh.lease:15m}")
+    private Duration lease = Duration.ofMinutes(15);
+    @Value("${tender.refresh.poll-interval:30s}")
+    private Duration pollInterval = Duration.ofSeconds(30);
+    @Value("${tender.refresh.shards:16}")
+    private int shards = 16;
+    @Value("${tender.refresh.replan-interval:1h}")
+    private Duration replanInterval = Duration.ofHours(1);
 
-                if (tender.getAuctionStart() == null && parsed.getImportantDates().getAuctionStart() != null) {
-                    tender.setAuctionStart(LocalDateTime.parse(parsed.getImportantDates().getAuctionStart(), formatter));
-                    updated = true;
-                }
+    private final String node = ManagementFactory.getRuntimeMXBean().getName();
+    private final AtomicInteger persistBacklog = new AtomicInteger();
 
-                if (tender.getQualificationDate() == null
-                        && parsed.getAwards() != null
-                        && !parsed.getAwards().isEmpty()
-                        && parsed.getAwards().getFirst().getComplaintPeriodStart() != null) {
-                    tender.setQualificationDate(parsed.getAwards().getFirst().getComplaintPeriodStart().plusDays(4));
-                    updated = true;
-                }
+    /**
+     * Drains the tenders whose {@code nextRefreshAt} has passed. The work is split into id-range shards
+     * ({@code REFRESH_SHARDS}, re-cut every {@code replanInterval}) that any number of nodes claim with
+     * {@code SKIP LOCKED} and hold under a lease of {@code lease}: each node keeps claiming shards that no
+     * one has completed within the last poll interval, so more nodes finish a pass sooner instead of
+     * fetching the same tenders. A shard is walked in id order in chunks; after a chunk is written its last
+     * id is checkpointed and the lease extended, so a node that takes over an expired lease resumes there.
+     * Fetches run on virtual threads, at most {@code concurrency} at a time, in the BACKGROUND lane of the
+     * node's {@link UpstreamRateLimiter} so they yield to user requests. Each chunk's changed tenders are handed to a single persist thread
+     * over a bounded queue and written as one batch; the rest only get their next refresh time, grouped into
+     * one update per interval. Requests are conditional on the stored ETag/Last-Modified, and a tender whose
+     * {@link TenderFingerprint} (upstream content plus the local fields the mapping reads) has not moved is
+     * neither diffed nor written. Otherwise only the fields
+     * {@link UpstreamTenderMapping} reports as changed are set, on the row as it is at write time so edits
+     * made meanwhile survive, and with dynamic update only those columns are written.
+     */
+    @Scheduled(fixedDelayString = "${tender.refresh.poll-interval:30s}")
+    public void updateTender() throws InterruptedException {
+        Timer.Sample run = Timer.start(meterRegistry);
+        meterRegistry.gauge("tender.refresh.persist.backlog", persistBacklog);
 
-                boolean shouldUpdateDealFields = tender.getIdDeal() == null
-                        || tender.getDateDeal() == null
-                        || tender.getAmountDeal() == null
-                        || tender.getUrlDeal() == null;
+        BlockingQueue<PersistBatch> persistQueue = new ArrayBlockingQueue<>(persistQueueCapacity);
+        Thread persister = Thread.ofPlatform().name("tender-refresh-persist").start(() -> persist(persistQueue));
+        Semaphore permits = new Semaphore(concurrency);
 
-                if (shouldUpdateDealFields
-                        && parsed.getParticipantContracts() != null
-                        && !parsed.getParticipantContracts().isEmpty()) {
+        try (ExecutorService fetchers = Executors.newVirtualThreadPerTaskExecutor()) {
+            LocalDateTime passStart = LocalDateTime.now();
+            if (refreshShardRepository.replan(shards, passStart, passStart.minus(replanInterval))) {
+                meterRegistry.counter("tender.refresh.shard.replanned").increment();
+            }
+            Optional<RefreshShard> claimed;
+            while ((claimed = claimShard(passStart)).isPresent()) {
+                refreshShard(new ShardRun(claimed.get()), fetchers, permits, persistQueue);
+            }
+        } finally {
+            persistQueue.put(END_OF_RUN);
+            persister.join();
+            run.stop(meterRegistry.timer("tender.refresh.run"));
+        }
+    }
 
-                    var participantContract = parsed.getParticipantContracts().getFirst();
+    private Optional<RefreshShard> claimShard(LocalDateTime passStart) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<RefreshShard> shard = refreshShardRepository.claim(node, now, passStart.minus(pollInterval), now.plus(lease));
+        shard.ifPresent(claimed -> countShard(claimed.getCheckpointId() == null ? "claimed" : "resumed"));
+        return shard;
+    }
 
-                    if (participantContract.getParticipantTitle().contains(tender.getParticipant().getName())
-                            && participantContract.getContracts() != null
-                            && !participantContract.getContracts().isEmpty()) {
+    private void refreshShard(ShardRun shard, ExecutorService fetchers, Semaphore permits,
+                              BlockingQueue<PersistBatch> persistQueue) throws InterruptedException {
+        List<ChunkResult> results = new ArrayList<>();
+        ChunkResult previous = null;
+        long after = shard.shard().resumeAfter();
+        List<TenderCwk> chunk;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            chunk = tenderRepository.findDueForRefresh(now, after, shard.shard().upperBound(), Limit.of(chunkSize));
+            if (chunk.isEmpty()) break;
+            after = chunk.getLast().getId();
+            meterRegistry.counter("tender.refresh.candidates").increment(chunk.size());
 
-                        var contract = participantContract.getContracts().getFirst();
-                        if (contract.getStatus() != null && "Підписаний".equals(contract.getStatus().getTitle())
-                                && contract.getDocuments() != null && !contract.getDocuments().isEmpty()) {
+            ChunkResult result = new ChunkResult(chunk.size(), shard, after, previous);
+            results.add(result);
+            previous = result;
+            for (TenderCwk tender : chunk) {
+                permits.acquire();
+                fetchers.submit(() -> {
+                    try {
+                        Refresh refresh = refresh(tender, now);
+                        Consumer<TenderCwk> update = refresh.update();
+                        LocalDateTime next = schedule(tender, now, refresh.retryAt());
+                        if (update != null) {
+                            tender.setNextRefreshAt(next);
+                            result.add(tender.getId(), update.andThen(current -> current.setNextRefreshAt(next)));
+                        } else {
+                            result.reschedule(tender.getId(), next);
+                        }
+                    } finally {
+                        permits.release();
+                        if (result.complete()) {
                             try {
-                                if (tender.getIdDeal() == null) {
-                                    tender.setIdDeal(String.valueOf(contract.getDocuments().getFirst().getId()));
-                                    updated = true;
-                                }
-                            } catch (Exception ignored) {
+                                result.awaitPrevious();
+                                handOff(result.batch(), persistQueue);
+                            } finally {
+                                result.handedOff();
                             }
+                        }
+                    }
+                    return null;
+                });
+            }
+        } while (chunk.size() == chunkSize && !shard.lost());
 
-                            try {
-                                if (tender.getDateDeal() == null) {
-                                    tender.setDateDeal(LocalDateTime.parse(contract.getDocuments().getFirst().getDateModified(), formatter));
-                                    updated = true;
-                                }
-                            } catch (Exception ignored) {
-                            }
+        for (ChunkResult result : results) {
+            result.awaitHandOff();
+        }
+        handOff(new PersistBatch(Map.of(), Map.of(), shard, null), persistQueue);
+    }
 
-                            if (tender.getAmountDeal() == null) {
-                                tender.setAmountDeal(contract.getAmount());
-                                updated = true;
-                            }
+    /**
+     * The update to write for {@code tender}, already applied to this copy so it can be scheduled by its new
+     * dates. A failed fetch is retried after {@link RefreshPolicy#retryDelay} for the id's failures in a
+     * row, and an id in upstream backoff, skipped before it waits for a rate-limit token, once the backoff
+     * ends; in both cases no later than the tier would have it.
+     */
+    private Refresh refresh(TenderCwk tender, LocalDateTime now) throws InterruptedException {
+        UpstreamBackoff.Entry backoff = upstreamBackoff.blocking(tender.getId());
+        if (backoff != null) {
+            count("backed_off", 1);
+            return new Refresh(null, backoff.retryAt());
+        }
+        try {
+            UpstreamTender upstream = meterRegistry.timer("tender.refresh.fetch")
+                    .recordCallable(() -> parsingService.getTenderIfChanged(tender.getId(),
+                            tender.getUpstreamEtag(), tender.getUpstreamLastModified()));
+            if (upstream.notModified()) {
+                count("not_modified", 1);
+                return Refresh.NONE;
+            }
+            if (upstream.tender() == null) {
+                count("not_found", 1);
+                return Refresh.NONE;
+            }
 
-                            try {
-                                if (tender.getUrlDeal() == null) {
-                                    tender.setUrlDeal(contract.getDocuments().getFirst().getViewUrl());
-                                    updated = true;
-                                }
-                            } catch (Exception ignored) {
-                            }
-                        }
-                    }
+            if (tender.getContentHash() != null
+                    && tender.getContentHash() == TenderFingerprint.of(upstream.tender(), tender)) {
+                count("unchanged", 1);
+                return Refresh.NONE;
+            }
+
+            UpstreamTenderMapping.Diff diff = UpstreamTenderMapping.diff(tender, upstream.tender());
+            diff.changes().forEach(change ->
+                    meterRegistry.counter("tender.refresh.field.changed", "field", change.field().name()).increment());
+            diff.applyTo(tender);
+            // Taken after the changes, as the next refresh will see the tender.
+            long fingerprint = TenderFingerprint.of(upstream.tender(), tender);
+            // Only the diffed fields and the bookkeeping columns: anything else on the row may have been
+            // edited since this copy was read.
+            Consumer<TenderCwk> update = current -> {
+                if (!diff.isEmpty()) {
+                    diff.applyTo(current);
+                    current.setLastChangedFields(diff.fieldNames());
                 }
+                current.setContentHash(fingerprint);
+                current.setUpstreamEtag(upstream.etag());
+                current.setUpstreamLastModified(upstream.lastModified());
+            };
+            update.accept(tender);
+            return new Refresh(update, null);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            count("failed", 1);
+            return new Refresh(null, now.plus(refreshPolicy.retryDelay(upstreamBackoff.failures(tender.getId()))));
+        }
+    }
+
+    /** The tier's next refresh time, or {@code retryAt} when that comes first. */
+    private LocalDateTime schedule(TenderCwk tender, LocalDateTime now, LocalDateTime retryAt) {
+        if (RefreshPolicy.isSettled(tender)) {
+            return null;
+        }
+        RefreshPolicy.Tier tier = refreshPolicy.tierOf(tender, now);
+        LocalDateTime next = now.plus(refreshPolicy.interval(tier));
+        if (retryAt != null && retryAt.isBefore(next)) {
+            meterRegistry.counter("tender.refresh.scheduled", "tier", "RETRY").increment();
+            return retryAt;
+        }
+        meterRegistry.counter("tender.refresh.scheduled", "tier", tier.name()).increment();
+        return next;
+    }
 
-                if (updated) {
-                    tenderRepository.save(tender);
-                    Thread.sleep(100);
+    private void handOff(PersistBatch batch, BlockingQueue<PersistBatch> persistQueue) throws InterruptedException {
+        persistBacklog.incrementAndGet();
+        persistQueue.put(batch);
+    }
+
+    /**
+     * Tenders of a batch that fails to write keep their past due time and are picked up by the next pass.
+     * The shard is checkpointed after each batch either way, and released as completed after its last one.
+     */
+    private void persist(BlockingQueue<PersistBatch> persistQueue) {
+        Timer saveTimer = meterRegistry.timer("tender.refresh.save");
+        try {
+            for (PersistBatch next = persistQueue.take(); next != END_OF_RUN; next = persistQueue.take()) {
+                persistBacklog.decrementAndGet();
+                Map<Long, Consumer<TenderCwk>> updated = next.updated();
+                if (!updated.isEmpty()) {
+                    try {
+                        saveTimer.record(() -> tenderRepository.updateAll(updated));
+                        count("updated", updated.size());
+                    } catch (RuntimeException e) {
+                        count("failed", updated.size());
+                    }
+                }
+                next.rescheduled().forEach((at, ids) -> {
+                    try {
+                        tenderRepository.scheduleRefresh(ids, at);
+                    } catch (RuntimeException e) {
+                        // Left past due, these tenders come straight back in the next pass.
+                        log.warn("Rescheduling {} tenders to {} failed: {}", ids.size(), at, e.toString());
+                        count("reschedule_failed", ids.size());
+                    }
+                });
+                if (next.shard() != null) {
+                    saveProgress(next);
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void saveProgress(PersistBatch batch) {
+        ShardRun run = batch.shard();
+        if (run.lost()) return;
+        Integer shardNo = run.shard().getShardNo();
+        try {
+            int held = batch.checkpointId() == null
+                    ? refreshShardRepository.complete(shardNo, node, LocalDateTime.now())
+                    : refreshShardRepository.checkpoint(shardNo, node, batch.checkpointId(), LocalDateTime.now().plus(lease));
+            if (held == 0) {
+                run.lose();
+                countShard("lost");
+            } else if (batch.checkpointId() == null) {
+                countShard("completed");
+            }
+        } catch (RuntimeException e) {
+            // The shard keeps its previous checkpoint, so its next run repeats the range walked since.
+            log.warn("Checkpointing refresh shard {} failed: {}", shardNo, e.toString());
+            countShard("checkpoint_failed");
+        }
+    }
+
+    private void count(String outcome, int amount) {
+        meterRegistry.counter("tender.refresh.tenders", "outcome", outcome).increment(amount);
+    }
+
+    private void countShard(String outcome) {
+        meterRegistry.counter("tender.refresh.shards", "outcome", outcome).increment();
+    }
+
+    /** An update to write, if any, and a retry time that may come before the tier's next refresh. */
+    private record Refresh(Consumer<TenderCwk> update, LocalDateTime retryAt) {
+
+        static final Refresh NONE = new Refresh(null, null);
+    }
+
+    /** A chunk of a shard to write; without a checkpoint id it is the marker that completes the shard. */
+    private record PersistBatch(Map<Long, Consumer<TenderCwk>> updated, Map<LocalDateTime, List<Long>> rescheduled,
+                                ShardRun shard, Long checkpointId) {
+    }
+
+    /** A claimed shard, lost once a checkpoint finds the lease has passed to another node. */
+    private static final class ShardRun {
+
+        private final RefreshShard shard;
+        private volatile boolean lost;
+
+        ShardRun(RefreshShard shard) {
+            this.shard = shard;
+        }
+
+        RefreshShard shard() {
+            return shard;
+        }
+
+        boolean lost() {
+            return lost;
+        }
+
+        void lose() {
+            lost = true;
+        }
+    }
+
+    /** Chunks are handed off in id order, so a checkpoint never passes a chunk that is still being fetched. */
+    private static final class ChunkResult {
+
+        private final Map<Long, Consumer<TenderCwk>> updated = new LinkedHashMap<>();
+        private final Map<LocalDateTime, List<Long>> rescheduled = new HashMap<>();
+        private final AtomicInteger pending;
+        private final ShardRun shard;
+        private final Long lastId;
+        private final ChunkResult previous;
+        private final CountDownLatch handedOff = new CountDownLatch(1);
+
+        ChunkResult(int size, ShardRun shard, Long lastId, ChunkResult previous) {
+            this.pending = new AtomicInteger(size);
+            this.shard = shard;
+            this.lastId = lastId;
+            this.previous = previous;
+        }
+
+        synchronized void add(Long id, Consumer<TenderCwk> update) {
+            updated.put(id, update);
+        }
+
+        /** Unchanged tenders of a chunk share its clock, so they collapse into one group per interval. */
+        synchronized void reschedule(Long id, LocalDateTime at) {
+            rescheduled.computeIfAbsent(at, key -> new ArrayList<>()).add(id);
+        }
+
+        synchronized PersistBatch batch() {
+            return new PersistBatch(new LinkedHashMap<>(updated), new HashMap<>(rescheduled), shard, lastId);
+        }
+
+        /** True for the task that finishes the chunk last. */
+        boolean complete() {
+            return pending.decrementAndGet() == 0;
+        }
+
+        void handedOff() {
+            handedOff.countDown();
+        }
+
+        void awaitHandOff() throws InterruptedException {
+            handedOff.await();
+        }
+
+        void awaitPrevious() throws InterruptedException {
+            if (previous != null) {
+                previous.awaitHandOff();
+            }
         }
     }
-}
\ No newline at end of file
+}
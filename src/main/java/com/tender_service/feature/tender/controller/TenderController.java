@@ -2,19 +2,30 @@ package com.tender_service.feature.tender.controller;
 
 import com.tender_service.core.api.database.entity.Participant;
 import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.core.api.parsing_service.UpstreamBackoff;
+import com.tender_service.feature.tender.model.AdminTenderRow;
+import com.tender_service.feature.tender.model.CursorPageDTO;
+import com.tender_service.feature.tender.model.TenderImportJobDTO;
 import com.tender_service.feature.tender.model.TenderDTO;
+import com.tender_service.feature.tender.model.TenderStatsDTO;
+import com.tender_service.feature.tender.service.TenderImportService;
 import com.tender_service.feature.tender.service.TenderService;
+import com.tender_service.utils.export.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.text.ParseException;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/tender")
@@ -23,6 +34,8 @@ public class TenderController {
 
     @Autowired
     private TenderService tenderService;
+    @Autowired
+    private TenderImportService tenderImportService;
 
     @Operation(summary = "get Parsed Tender for User", description = "Get Parsed Tender by its id for user")
     @GetMapping()
@@ -33,6 +46,48 @@ public class TenderController {
         return ResponseEntity.ok(tenderService.getTenderById(auth, id));
     }
 
+    @Operation(summary = "search Tenders for Role", description = "Full-text search over tenders of specified role, best matches first")
+    @PreAuthorize("hasAuthority(#role)")
+    @GetMapping("/search")
+    public ResponseEntity<List<TenderDTO>> searchTenderForJWT(
+            @Parameter(hidden = true) @RequestHeader("Authorization") String auth,
+            @RequestParam String query,
+            @RequestParam String role,
+            @RequestParam(required = false, defaultValue = "0") Integer pageNumber,
+            @RequestParam(required = false, defaultValue = "10") Integer pageSize
+    ) throws ParseException {
+        return ResponseEntity.ok(tenderService.searchTenderForJWT(auth, query, role, pageNumber, pageSize));
+    }
+
+    @Operation(summary = "export Tenders for Role", description = "Stream all filtered tenders of specified role as ndjson or csv")
+    @PreAuthorize("hasAuthority(#role)")
+    @GetMapping("/{role}/export")
+    public ResponseEntity<StreamingResponseBody> exportTenderForJWT(
+            @Parameter(hidden = true) @RequestHeader("Authorization") String auth,
+            @PathVariable String role,
+            @RequestParam(required = false, defaultValue = "ndjson") String format,
+            @RequestParam(required = false, defaultValue = "id") String sortBy,
+            @RequestParam(required = false, defaultValue = "desc") String sortDirection,
+            @RequestParam(required = false) Map<String, String> allParams
+    ) throws ParseException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportResponse(exportFormat, tenderService.exportTenderForJWT(
+                auth, role, exportFormat, sortBy, sortDirection, allParams
+        ));
+    }
+
+    @Operation(summary = "get Tender stats for Role", description = "Counts and sums of filtered tenders of specified role grouped by up to 3 dimensions: statusTitle, tenderStatus, internalStage, categoryCode, participant, createdMonth, dealMonth")
+    @PreAuthorize("hasAuthority(#role)")
+    @GetMapping("/{role}/stats")
+    public ResponseEntity<List<TenderStatsDTO>> getStatsForJWT(
+            @Parameter(hidden = true) @RequestHeader("Authorization") String auth,
+            @PathVariable String role,
+            @RequestParam String groupBy,
+            @RequestParam(required = false) Map<String, String> allParams
+    ) throws ParseException {
+        return ResponseEntity.ok(tenderService.getStatsForJWT(auth, role, groupBy, allParams));
+    }
+
     @Operation(summary = "get Tenders for Role", description = "Get Tenders for specified role")
     @PreAuthorize("hasAuthority(#role)")
     @GetMapping("/{role}")
@@ -50,6 +105,23 @@ public class TenderController {
         ));
     }
 
+    @Operation(summary = "scroll Tenders for Role", description = "Get Tenders for specified role by continuation cursor")
+    @PreAuthorize("hasAuthority(#role)")
+    @GetMapping("/{role}/scroll")
+    public ResponseEntity<CursorPageDTO<TenderDTO>> scrollTenderForJWT(
+            @Parameter(hidden = true) @RequestHeader("Authorization") String auth,
+            @PathVariable String role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(required = false, defaultValue = "id") String sortBy,
+            @RequestParam(required = false, defaultValue = "desc") String sortDirection,
+            @RequestParam(required = false) Map<String, String> allParams
+    ) throws ParseException {
+        return ResponseEntity.ok(tenderService.scrollTenderForJWT(
+                auth, cursor, pageSize, sortBy, sortDirection, role, allParams
+        ));
+    }
+
     @Operation(summary = "update Tender for User", description = "Update tender")
     @PreAuthorize("hasAuthority('USER')")
     @PatchMapping("")
@@ -74,7 +146,7 @@ public class TenderController {
     @Operation(summary = "get all tenders in database", description = "Get all tenders (admin only)")
     @PreAuthorize("hasAuthority('ADMIN')")
     @GetMapping("/admin")
-    public ResponseEntity<List<Map<String, Object>>> getAllTenderByAdmin(
+    public ResponseEntity<List<AdminTenderRow>> getAllTenderByAdmin(
             @RequestParam(required = false, defaultValue = "0") Integer pageNumber,
             @RequestParam(required = false, defaultValue = "10") Integer pageSize,
             @RequestParam(required = false, defaultValue = "id") String sortBy,
@@ -86,6 +158,57 @@ public class TenderController {
         ));
     }
 
+    @Operation(summary = "scroll all tenders in database", description = "Get all tenders by continuation cursor (admin only)")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/admin/scroll")
+    public ResponseEntity<CursorPageDTO<AdminTenderRow>> scrollAllTenderByAdmin(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(required = false, defaultValue = "id") String sortBy,
+            @RequestParam(required = false, defaultValue = "desc") String sortDirection,
+            @RequestParam(required = false) Map<String, String> allParams
+    ){
+        return ResponseEntity.ok(tenderService.scrollAllTenders(
+                cursor, pageSize, sortBy, sortDirection, allParams
+        ));
+    }
+
+    @Operation(summary = "search all tenders in database", description = "Full-text search over all tenders, best matches first (admin only)")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/admin/search")
+    public ResponseEntity<List<TenderDTO>> searchAllTenderByAdmin(
+            @RequestParam String query,
+            @RequestParam(required = false, defaultValue = "0") Integer pageNumber,
+            @RequestParam(required = false, defaultValue = "10") Integer pageSize
+    ){
+        return ResponseEntity.ok(tenderService.searchAllTenders(query, pageNumber, pageSize));
+    }
+
+    @Operation(summary = "export all tenders in database", description = "Stream all filtered tenders as ndjson or csv (admin only)")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/admin/export")
+    public ResponseEntity<StreamingResponseBody> exportAllTenderByAdmin(
+            @RequestParam(required = false, defaultValue = "ndjson") String format,
+            @RequestParam(required = false, defaultValue = "id") String sortBy,
+            @RequestParam(required = false, defaultValue = "desc") String sortDirection,
+            @RequestParam(required = false) Map<String, String> allParams
+    ){
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportResponse(exportFormat, tenderService.exportAllTenders(
+                exportFormat, sortBy, sortDirection, allParams
+        ));
+    }
+
+    @Operation(summary = "get stats of all tenders in database", description = "Counts and sums of filtered tenders grouped by up to 3 dimensions (admin only)")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/admin/stats")
+    public ResponseEntity<List<TenderStatsDTO>> getAllStatsByAdmin(
+            @RequestParam String groupBy,
+            @RequestParam(required = false) Map<String, String> allParams
+    ){
+        return ResponseEntity.ok(tenderService.getAllStats(groupBy, allParams));
+    }
+
     @Operation(summary = "Update tender By Admin", description = "Update tender (admin only)")
     @PreAuthorize("hasAuthority('ADMIN')")
     @PatchMapping("/admin")
@@ -122,6 +245,46 @@ public class TenderController {
         return ResponseEntity.ok().build();
     }
 
+    @Operation(summary = "import parsed tenders by ids to UserID",
+            description = "Start a background import of many tenders for user; poll the returned job (admin only)")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping("/admin/batch")
+    public ResponseEntity<TenderImportJobDTO> addTenders(
+            @RequestParam Long id,
+            @RequestBody List<Long> tenderIds
+    ){
+        TenderImportJobDTO job = tenderImportService.startImport(id, tenderIds);
+        return ResponseEntity.accepted()
+                .location(URI.create("/tender/admin/batch/" + job.getJobId()))
+                .body(job);
+    }
+
+    @Operation(summary = "get tender import job", description = "Get per-id outcomes of a bulk import (admin only)")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/admin/batch/{jobId}")
+    public ResponseEntity<TenderImportJobDTO> getImportJob(
+            @PathVariable UUID jobId
+    ){
+        return ResponseEntity.ok(tenderImportService.getImport(jobId));
+    }
+
+    @Operation(summary = "get upstream backoff", description = "Tender ids the upstream API is not asked for until their retry time (admin only)")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/admin/upstream/backoff")
+    public ResponseEntity<List<UpstreamBackoff.Entry>> getUpstreamBackoff(){
+        return ResponseEntity.ok(tenderService.getUpstreamBackoff());
+    }
+
+    @Operation(summary = "clear upstream backoff", description = "Clear backoff of one tender id, or of all when none is given (admin only)")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @DeleteMapping("/admin/upstream/backoff")
+    public ResponseEntity<Void> clearUpstreamBackoff(
+            @RequestParam(required = false) Long tenderId
+    ){
+        tenderService.clearUpstreamBackoff(tenderId);
+        return ResponseEntity.ok().build();
+    }
+
     @Operation(summary = "get all units", description = "Get all units from database")
     @GetMapping("/units")
     public ResponseEntity<List<String>> getUnits(){
@@ -134,4 +297,11 @@ public class TenderController {
     public ResponseEntity<List<Participant>> getParticipants(){
         return ResponseEntity.ok(tenderService.getParticipants());
     }
+
+    private static ResponseEntity<StreamingResponseBody> exportResponse(ExportFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tenders." + format.extension() + "\"")
+                .body(body);
+    }
 }
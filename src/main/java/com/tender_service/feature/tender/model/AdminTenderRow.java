@@ -0,0 +1,13 @@
+package com.tender_service.feature.tender.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AdminTenderRow {
+    private TenderDTO tender;
+    private TenderOwnerDTO user;
+}
@@ -0,0 +1,60 @@
+package com.tender_service.feature.tender.model;
+
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.core.api.database.entity.UserCwk;
+import com.tender_service.core.api.database.entity.UserStatus;
+import com.tender_service.utils.projection.TupleProjection;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tender columns plus the owner's columns through a single left join. Roles are an element collection and
+ * are attached afterwards with one batch query, so a page costs two statements regardless of its size.
+ */
+public class AdminTenderRowProjection implements TupleProjection<TenderCwk, AdminTenderRow> {
+
+    public static final AdminTenderRowProjection INSTANCE = new AdminTenderRowProjection();
+
+    private static final List<String> OWNER_COLUMNS = List.of(
+            "id", "name", "surname", "email", "username", "createdAt", "userStatus"
+    );
+
+    @Override
+    public List<Selection<?>> selections(Root<TenderCwk> root, CriteriaBuilder cb) {
+        List<Selection<?>> selections = new ArrayList<>(TenderDTOProjection.INSTANCE.selections(root, cb));
+        Join<TenderCwk, UserCwk> owner = root.join("user", JoinType.LEFT);
+        for (String column : OWNER_COLUMNS) {
+            selections.add(owner.get(column));
+        }
+        return selections;
+    }
+
+    @Override
+    public AdminTenderRow map(Tuple tuple) {
+        TenderDTO tender = TenderDTOProjection.INSTANCE.map(tuple);
+
+        int i = TenderDTOProjection.WIDTH;
+        Long ownerId = tuple.get(i++, Long.class);
+        if (ownerId == null) {
+            return new AdminTenderRow(tender, null);
+        }
+
+        TenderOwnerDTO owner = new TenderOwnerDTO();
+        owner.setId(ownerId);
+        owner.setName(tuple.get(i++, String.class));
+        owner.setSurname(tuple.get(i++, String.class));
+        owner.setEmail(tuple.get(i++, String.class));
+        owner.setUsername(tuple.get(i++, String.class));
+        owner.setCreatedAt(tuple.get(i++, LocalDateTime.class));
+        owner.setUserStatus(tuple.get(i++, UserStatus.class));
+        return new AdminTenderRow(tender, owner);
+    }
+}
@@ -0,0 +1,82 @@
+package com.tender_service.feature.tender.model;
+
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.utils.projection.TupleProjection;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TenderDTOProjection implements TupleProjection<TenderCwk, TenderDTO> {
+
+    public static final TenderDTOProjection INSTANCE = new TenderDTOProjection();
+
+    private static final List<String> COLUMNS = List.of(
+            "id", "createdAt", "prozorroNumber", "title", "unit", "procedureType", "produceType",
+            "organizerName", "categoryId", "categoryCode", "categoryTitle", "statusTitle",
+            "participantsOfferStatus", "internalStage", "budgetAmount", "budgetAmountTitle", "withVat",
+            "vatTitle", "currencyTitle", "currencyHtmlTitle", "currencyId", "guaranteeBank", "participantCost",
+            "enquiryPeriodStart", "enquiryPeriodEnd", "tenderingPeriodEnd", "auctionStart", "dateDeal",
+            "amountDeal", "amountByAccounts", "deliveryTermsUponRequest", "deliveryPeriodTo", "paymentTermsDay",
+            "deliveryAddress", "cost", "commentary"
+    );
+
+    static final int WIDTH = COLUMNS.size();
+
+    @Override
+    public List<Selection<?>> selections(Root<TenderCwk> root, CriteriaBuilder cb) {
+        List<Selection<?>> selections = new ArrayList<>(COLUMNS.size());
+        for (String column : COLUMNS) {
+            selections.add(root.get(column));
+        }
+        return selections;
+    }
+
+    @Override
+    public TenderDTO map(Tuple tuple) {
+        int i = 0;
+        TenderDTO dto = new TenderDTO();
+        dto.setId(tuple.get(i++, Long.class));
+        dto.setCreatedAt(tuple.get(i++, LocalDateTime.class));
+        dto.setProzorroNumber(tuple.get(i++, String.class));
+        dto.setTitle(tuple.get(i++, String.class));
+        dto.setUnit(tuple.get(i++, String.class));
+        dto.setProcedureType(tuple.get(i++, String.class));
+        dto.setProduceType(tuple.get(i++, String.class));
+        dto.setOrganizerName(tuple.get(i++, String.class));
+        dto.setCategoryId(tuple.get(i++, Integer.class));
+        dto.setCategoryCode(tuple.get(i++, String.class));
+        dto.setCategoryTitle(tuple.get(i++, String.class));
+        dto.setStatusTitle(tuple.get(i++, String.class));
+        dto.setParticipantsOfferStatus(tuple.get(i++, String.class));
+        dto.setInternalStage(tuple.get(i++, String.class));
+        dto.setBudgetAmount(tuple.get(i++, Double.class));
+        dto.setBudgetAmountTitle(tuple.get(i++, String.class));
+        dto.setWithVat(tuple.get(i++, Boolean.class));
+        dto.setVatTitle(tuple.get(i++, String.class));
+        dto.setCurrencyTitle(tuple.get(i++, String.class));
+        dto.setCurrencyHtmlTitle(tuple.get(i++, String.class));
+        dto.setCurrencyId(tuple.get(i++, Integer.class));
+        dto.setGuaranteeBank(Boolean.TRUE.equals(tuple.get(i++, Boolean.class)));
+        dto.setParticipantCost(tuple.get(i++, Long.class));
+        dto.setEnquiryPeriodStart(tuple.get(i++, LocalDateTime.class));
+        dto.setEnquiryPeriodEnd(tuple.get(i++, LocalDateTime.class));
+        dto.setTenderingPeriodEnd(tuple.get(i++, LocalDateTime.class));
+        dto.setAuctionStart(tuple.get(i++, LocalDateTime.class));
+        dto.setDateTime(tuple.get(i++, LocalDateTime.class));
+        dto.setAmountDeal(tuple.get(i++, Long.class));
+        dto.setAmountByAccounts(tuple.get(i++, Long.class));
+        dto.setDeliveryTermsUponRequest(Boolean.TRUE.equals(tuple.get(i++, Boolean.class)));
+        dto.setDeliveryPeriodTo(tuple.get(i++, LocalDate.class));
+        dto.setPaymentTermsDay(tuple.get(i++, Integer.class));
+        dto.setDeliveryAddress(tuple.get(i++, String.class));
+        dto.setCost(tuple.get(i++, Integer.class));
+        dto.setCommentary(tuple.get(i++, String.class));
+        return dto;
+    }
+}
@@ -0,0 +1,25 @@
+package com.tender_service.feature.tender.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TenderImportJobDTO {
+
+    private UUID jobId;
+    private Long userId;
+    private boolean finished;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Map<TenderImportOutcome, Long> summary;
+    private Map<Long, TenderImportOutcome> outcomes;
+    /** Reason per failed tender id. */
+    private Map<Long, String> failures;
+}
@@ -0,0 +1,9 @@
+package com.tender_service.feature.tender.model;
+
+public enum TenderImportOutcome {
+    PENDING,
+    IMPORTED,
+    EXISTS,
+    NOT_FOUND,
+    FAILED
+}
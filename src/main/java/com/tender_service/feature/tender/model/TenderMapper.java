@@ -0,0 +1,21 @@
+package com.tender_service.feature.tender.model;
+
+import com.tender_service.core.api.database.entity.TenderCwk;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.CollectionMappingStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE,
+        collectionMappingStrategy = CollectionMappingStrategy.TARGET_IMMUTABLE)
+public interface TenderMapper {
+
+    @Mapping(target = "dateTime", source = "dateDeal")
+    TenderDTO toDTO(TenderCwk tender);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void patch(TenderCwk source, @MappingTarget TenderCwk target);
+}
@@ -0,0 +1,20 @@
+package com.tender_service.feature.tender.model;
+
+import com.tender_service.core.api.database.entity.Role;
+import com.tender_service.core.api.database.entity.UserStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+public class TenderOwnerDTO {
+    private Long id;
+    private String name;
+    private String surname;
+    private String email;
+    private String username;
+    private LocalDateTime createdAt;
+    private UserStatus userStatus;
+    private Set<Role> roles;
+}
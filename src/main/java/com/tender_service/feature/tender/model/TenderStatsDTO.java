@@ -0,0 +1,15 @@
+package com.tender_service.feature.tender.model;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class TenderStatsDTO {
+    private Map<String, Object> group = new LinkedHashMap<>();
+    private long count;
+    private double budgetAmount;
+    private long amountDeal;
+    private long amountByAccounts;
+}
@@ -0,0 +1,84 @@
+package com.tender_service.feature.tender.model;
+
+import com.tender_service.core.api.database.entity.TenderCwk;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.sqm.TemporalUnit;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+public enum TenderStatsDimension {
+    STATUS_TITLE("statusTitle"),
+    TENDER_STATUS("tenderStatus"),
+    INTERNAL_STAGE("internalStage"),
+    CATEGORY_CODE("categoryCode"),
+    PARTICIPANT("participant"),
+    CREATED_MONTH("createdMonth"),
+    DEAL_MONTH("dealMonth");
+
+    private static final int MAX_DIMENSIONS = 3;
+
+    private final String key;
+
+    TenderStatsDimension(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    Expression<?> expression(Root<TenderCwk> root, CriteriaBuilder cb) {
+        return switch (this) {
+            case STATUS_TITLE -> root.get("statusTitle");
+            case TENDER_STATUS -> root.get("tenderStatus");
+            case INTERNAL_STAGE -> root.get("internalStage");
+            case CATEGORY_CODE -> root.get("categoryCode");
+            case PARTICIPANT -> root.join("participant", JoinType.LEFT).get("name");
+            case CREATED_MONTH -> month(root.get("createdAt"), cb);
+            case DEAL_MONTH -> month(root.get("dateDeal"), cb);
+        };
+    }
+
+    Object value(Object raw) {
+        if (raw instanceof LocalDateTime dateTime) {
+            return YearMonth.from(dateTime);
+        }
+        return raw;
+    }
+
+    public static List<TenderStatsDimension> parse(String groupBy) {
+        List<TenderStatsDimension> dimensions = new ArrayList<>();
+        for (String part : groupBy.split(",")) {
+            String key = part.trim();
+            if (key.isEmpty()) continue;
+
+            TenderStatsDimension dimension = null;
+            for (TenderStatsDimension candidate : values()) {
+                if (candidate.key.equals(key)) {
+                    dimension = candidate;
+                }
+            }
+            if (dimension == null) {
+                throw new IllegalArgumentException("Unsupported stats dimension: " + key);
+            }
+            if (!dimensions.contains(dimension)) {
+                dimensions.add(dimension);
+            }
+        }
+        if (dimensions.isEmpty() || dimensions.size() > MAX_DIMENSIONS) {
+            throw new IllegalArgumentException("groupBy expects 1.." + MAX_DIMENSIONS + " dimensions");
+        }
+        return dimensions;
+    }
+
+    private static Expression<LocalDateTime> month(Expression<LocalDateTime> dateTime, CriteriaBuilder cb) {
+        return ((HibernateCriteriaBuilder) cb).truncate(dateTime, TemporalUnit.MONTH);
+    }
+}
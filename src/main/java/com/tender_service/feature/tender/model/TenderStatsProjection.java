@@ -0,0 +1,57 @@
+package com.tender_service.feature.tender.model;
+
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.utils.projection.AggregateProjection;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TenderStatsProjection implements AggregateProjection<TenderCwk, TenderStatsDTO> {
+
+    private final List<TenderStatsDimension> dimensions;
+
+    public TenderStatsProjection(List<TenderStatsDimension> dimensions) {
+        this.dimensions = List.copyOf(dimensions);
+    }
+
+    @Override
+    public List<Expression<?>> groupBy(Root<TenderCwk> root, CriteriaBuilder cb) {
+        List<Expression<?>> keys = new ArrayList<>(dimensions.size());
+        for (TenderStatsDimension dimension : dimensions) {
+            keys.add(dimension.expression(root, cb));
+        }
+        return keys;
+    }
+
+    @Override
+    public List<Selection<?>> aggregates(Root<TenderCwk> root, CriteriaBuilder cb) {
+        return List.of(
+                cb.count(root),
+                cb.sum(root.<Double>get("budgetAmount")),
+                cb.sum(root.<Long>get("amountDeal")),
+                cb.sum(root.<Long>get("amountByAccounts"))
+        );
+    }
+
+    @Override
+    public TenderStatsDTO map(Tuple tuple) {
+        TenderStatsDTO stats = new TenderStatsDTO();
+        int i = 0;
+        for (TenderStatsDimension dimension : dimensions) {
+            stats.getGroup().put(dimension.key(), dimension.value(tuple.get(i++)));
+        }
+        stats.setCount(tuple.get(i++, Long.class));
+        Double budgetAmount = tuple.get(i++, Double.class);
+        Long amountDeal = tuple.get(i++, Long.class);
+        Long amountByAccounts = tuple.get(i, Long.class);
+        stats.setBudgetAmount(budgetAmount != null ? budgetAmount : 0);
+        stats.setAmountDeal(amountDeal != null ? amountDeal : 0);
+        stats.setAmountByAccounts(amountByAccounts != null ? amountByAccounts : 0);
+        return stats;
+    }
+}
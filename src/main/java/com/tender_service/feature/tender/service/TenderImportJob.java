@@ -0,0 +1,92 @@
+package com.tender_service.feature.tender.service;
+
+import com.tender_service.feature.tender.model.TenderImportJobDTO;
+import com.tender_service.feature.tender.model.TenderImportOutcome;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Progress of one bulk import. Outcomes are written by the import workers and read by status requests.
+ */
+class TenderImportJob {
+
+    private final UUID id = UUID.randomUUID();
+    private final Long userId;
+    private final List<Long> tenderIds;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final Map<Long, TenderImportOutcome> outcomes = new ConcurrentHashMap<>();
+    private final Map<Long, String> failures = new ConcurrentHashMap<>();
+    private volatile LocalDateTime finishedAt;
+
+    TenderImportJob(Long userId, List<Long> tenderIds) {
+        this.userId = userId;
+        this.tenderIds = List.copyOf(tenderIds);
+    }
+
+    UUID getId() {
+        return id;
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    List<Long> getTenderIds() {
+        return tenderIds;
+    }
+
+    void record(Long tenderId, TenderImportOutcome outcome) {
+        outcomes.put(tenderId, outcome);
+    }
+
+    /** Marks the id as failed, keeping {@code cause} as the reason shown in the job status. */
+    void fail(Long tenderId, Throwable cause) {
+        failures.put(tenderId, reason(cause));
+        outcomes.put(tenderId, TenderImportOutcome.FAILED);
+    }
+
+    /**
+     * Marks ids that never got an outcome as failed, with {@code cause} (what stopped the job, or {@code null})
+     * as their reason, and closes the job.
+     */
+    void finish(Throwable cause) {
+        for (Long tenderId : tenderIds) {
+            if (!outcomes.containsKey(tenderId)) {
+                fail(tenderId, cause);
+            }
+        }
+        finishedAt = LocalDateTime.now();
+    }
+
+    private static String reason(Throwable cause) {
+        return cause == null
+                ? "Import stopped before this tender was processed"
+                : cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+
+    TenderImportJobDTO snapshot() {
+        LocalDateTime finished = finishedAt;
+        Map<Long, TenderImportOutcome> byId = new LinkedHashMap<>();
+        Map<TenderImportOutcome, Long> summary = new EnumMap<>(TenderImportOutcome.class);
+        Map<Long, String> failed = new LinkedHashMap<>();
+        for (Long tenderId : tenderIds) {
+            TenderImportOutcome outcome = outcomes.getOrDefault(tenderId, TenderImportOutcome.PENDING);
+            byId.put(tenderId, outcome);
+            summary.merge(outcome, 1L, Long::sum);
+            if (outcome == TenderImportOutcome.FAILED) {
+                failed.put(tenderId, failures.get(tenderId));
+            }
+        }
+        return new TenderImportJobDTO(id, userId, finished != null, startedAt, finished, summary, byId, failed);
+    }
+}
@@ -0,0 +1,253 @@
+package com.tender_service.feature.tender.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tender_service.core.api.database.entity.ImportJob;
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.core.api.database.entity.UserCwk;
+import com.tender_service.core.api.database.repository.ImportJobRepository;
+import com.tender_service.core.api.database.repository.TenderRepository;
+import com.tender_service.core.api.database.repository.UserRepository;
+import com.tender_service.core.api.parsing_service.ParsingService;
+import com.tender_service.core.api.parsing_service.UpstreamLane;
+import com.tender_service.core.api.parsing_service.UpstreamTenderMapping;
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import com.tender_service.feature.tender.model.TenderImportJobDTO;
+import com.tender_service.feature.tender.model.TenderImportOutcome;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs bulk imports on the node that accepted them. Status is served from memory on that node and from the
+ * {@link ImportJob} snapshot it keeps up to date everywhere else, so status polls need no sticky routing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TenderImportService {
+
+    @Autowired
+    private TenderRepository tenderRepo;
+    @Autowired
+    private UserRepository userRepo;
+    @Autowired
+    private ParsingService parsingService;
+    @Autowired
+    private ImportJobRepository importJobRepo;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tender.import.concurrency:8}")
+    private int concurrency = 8;
+    @Value("${tender.import.batch-size:50}")
+    private int batchSize = 50;
+    @Value("${tender.import.max-ids:1000}")
+    private int maxIds = 1000;
+
+    private static final Duration JOB_RETENTION = Duration.ofDays(1);
+
+    private final Cache<UUID, TenderImportJob> jobs = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(JOB_RETENTION)
+            .build();
+
+    public TenderImportJobDTO startImport(Long userId, List<Long> tenderIds) {
+        UserCwk user = userRepo.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
+
+        Set<Long> ids = new LinkedHashSet<>(tenderIds);
+        ids.remove(null);
+        if (ids.isEmpty() || ids.size() > maxIds) {
+            throw new IllegalArgumentException("Expected 1.." + maxIds + " tender ids");
+        }
+
+        TenderImportJob job = new TenderImportJob(userId, new ArrayList<>(ids));
+        importJobRepo.deleteStartedBefore(LocalDateTime.now().minus(JOB_RETENTION));
+        store(job);
+        jobs.put(job.getId(), job);
+        Thread.ofVirtual().name("tender-import-" + job.getId()).start(() -> run(job, user));
+        return job.snapshot();
+    }
+
+    public TenderImportJobDTO getImport(UUID jobId) {
+        TenderImportJob job = jobs.getIfPresent(jobId);
+        if (job != null) {
+            return job.snapshot();
+        }
+        return importJobRepo.findById(jobId)
+                .map(this::read)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Not found import job: " + jobId));
+    }
+
+    /**
+     * Skips ids that already exist with one query, then fetches the rest on virtual threads (at most
+     * {@code concurrency} upstream calls at a time) and inserts them {@code batchSize} tenders per transaction.
+     */
+    private void run(TenderImportJob job, UserCwk user) {
+        Throwable stopCause = null;
+        try {
+            Set<Long> existing = new HashSet<>(tenderRepo.findExistingIds(job.getTenderIds()));
+            List<Long> missing = new ArrayList<>();
+            for (Long tenderId : job.getTenderIds()) {
+                if (existing.contains(tenderId)) {
+                    job.record(tenderId, TenderImportOutcome.EXISTS);
+                } else {
+                    missing.add(tenderId);
+                }
+            }
+
+            Semaphore permits = new Semaphore(concurrency);
+            try (ExecutorService fetchers = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int from = 0; from < missing.size(); from += batchSize) {
+                    List<Future<TenderCwk>> window = new ArrayList<>();
+                    for (Long tenderId : missing.subList(from, Math.min(from + batchSize, missing.size()))) {
+                        permits.acquire();
+                        window.add(fetchers.submit(() -> {
+                            try {
+                                return fetch(job, user, tenderId);
+                            } finally {
+                                permits.release();
+                            }
+                        }));
+                    }
+
+                    List<TenderCwk> batch = new ArrayList<>(window.size());
+                    for (Future<TenderCwk> fetched : window) {
+                        TenderCwk tender = fetched.get();
+                        if (tender != null) {
+                            batch.add(tender);
+                        }
+                    }
+                    insert(job, batch);
+                    checkpoint(job);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopCause = e;
+        } catch (ExecutionException | RuntimeException e) {
+            stopCause = e instanceof ExecutionException ? e.getCause() : e;
+            log.warn("Tender import {} stopped", job.getId(), stopCause);
+            failed("job");
+        } finally {
+            job.finish(stopCause);
+            checkpoint(job);
+        }
+    }
+
+    private TenderCwk fetch(TenderImportJob job, UserCwk user, Long tenderId) {
+        try {
+            ParsedTenderDTO parsed = parsingService.getTenderById(tenderId, UpstreamLane.BULK);
+            if (parsed == null) {
+                job.record(tenderId, TenderImportOutcome.NOT_FOUND);
+                return null;
+            }
+            return UpstreamTenderMapping.newTender(user, tenderId, parsed);
+        } catch (RuntimeException e) {
+            fail(job, tenderId, "fetch", e);
+            return null;
+        }
+    }
+
+    /** One batch insert; if it fails, retries tender by tender so a single bad row gets its own outcome. */
+    private void insert(TenderImportJob job, List<TenderCwk> batch) {
+        if (batch.isEmpty()) return;
+
+        try {
+            tenderRepo.insertAll(batch);
+            for (TenderCwk tender : batch) {
+                job.record(tender.getId(), TenderImportOutcome.IMPORTED);
+            }
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Tender import {}: batch of {} tenders failed, inserting one by one: {}",
+                    job.getId(), batch.size(), e.toString());
+        }
+
+        for (TenderCwk tender : batch) {
+            // The rolled-back flush already assigned item ids and wrapped the collection; start clean.
+            if (tender.getItems() != null) {
+                tender.getItems().forEach(item -> item.setId(null));
+                tender.setItems(new ArrayList<>(tender.getItems()));
+            }
+            try {
+                tenderRepo.insertAll(List.of(tender));
+                job.record(tender.getId(), TenderImportOutcome.IMPORTED);
+            } catch (DataIntegrityViolationException e) {
+                // Only a row inserted since the existence check makes this a duplicate; any other
+                // constraint (length, not-null, ...) is a real failure.
+                if (tenderRepo.existsById(tender.getId())) {
+                    job.record(tender.getId(), TenderImportOutcome.EXISTS);
+                } else {
+                    fail(job, tender.getId(), "insert", e);
+                }
+            } catch (RuntimeException e) {
+                fail(job, tender.getId(), "insert", e);
+            }
+        }
+    }
+
+    private void fail(TenderImportJob job, Long tenderId, String stage, RuntimeException cause) {
+        job.fail(tenderId, cause);
+        log.warn("Tender import {}: {} of tender {} failed: {}", job.getId(), stage, tenderId, cause.toString());
+        failed(stage);
+    }
+
+    private void failed(String stage) {
+        meterRegistry.counter("tender.import.failed", "stage", stage).increment();
+    }
+
+    /** Stores the job's progress; a failed write only leaves other nodes a step behind, so the import goes on. */
+    private void checkpoint(TenderImportJob job) {
+        try {
+            store(job);
+        } catch (RuntimeException e) {
+            log.warn("Tender import {}: storing progress failed", job.getId(), e);
+            failed("store");
+        }
+    }
+
+    private void store(TenderImportJob job) {
+        ImportJob record = new ImportJob();
+        record.setId(job.getId());
+        record.setUserId(job.getUserId());
+        record.setStartedAt(job.getStartedAt());
+        record.setUpdatedAt(LocalDateTime.now());
+        try {
+            record.setSnapshot(objectMapper.writeValueAsString(job.snapshot()));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        importJobRepo.save(record);
+    }
+
+    private TenderImportJobDTO read(ImportJob record) {
+        try {
+            return objectMapper.readValue(record.getSnapshot(), TenderImportJobDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -6,15 +6,34 @@ import com.tender_service.core.api.database.repository.TenderRepository;
 import com.tender_service.core.api.database.repository.UserRepository;
 import com.tender_service.core.api.file_service.FileManagerService;
 import com.tender_service.core.api.parsing_service.ParsingService;
+import com.tender_service.core.api.parsing_service.UpstreamBackoff;
+import com.tender_service.core.api.parsing_service.UpstreamTenderMapping;
 import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
 import com.tender_service.core.configuration.JwtService;
+import com.tender_service.feature.tender.model.AdminTenderRow;
+import com.tender_service.feature.tender.model.AdminTenderRowProjection;
+import com.tender_service.feature.tender.model.CursorPageDTO;
 import com.tender_service.feature.tender.model.TenderDTO;
+import com.tender_service.feature.tender.model.TenderDTOProjection;
+import com.tender_service.feature.tender.model.TenderMapper;
+import com.tender_service.feature.tender.model.TenderStatsDTO;
+import com.tender_service.feature.tender.model.TenderStatsDimension;
+import com.tender_service.feature.tender.model.TenderStatsProjection;
 import com.tender_service.utils.TenderCwkSpecification;
+import com.tender_service.utils.concurrent.StripedLock;
+import com.tender_service.utils.export.ExportFormat;
+import com.tender_service.utils.export.RowExportWriter;
+import com.tender_service.utils.filter.FilterCompiler;
+import com.tender_service.utils.filter.FilterField;
+import com.tender_service.utils.pagination.CursorCodec;
+import com.tender_service.utils.pagination.Keyset;
+import com.tender_service.utils.pagination.KeysetSlice;
+import com.tender_service.utils.projection.TupleProjection;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.Hibernate;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
@@ -22,17 +41,20 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.ParseException;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
-
-import static com.tender_service.utils.BeanCopyUtils.getNullPropertyNames;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -49,33 +71,91 @@ public class TenderService {
     private ParsingService parsingService;
     @Autowired
     private ParticipantRepository participantRepo;
-    private final ModelMapper modelMapper;
+    private final TenderMapper tenderMapper;
     @Autowired
     private FileManagerService fileManagerService;
+    @Autowired
+    private FilterCompiler<TenderCwk> tenderFilter;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UpstreamBackoff upstreamBackoff;
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final int IMPORT_LOCK_STRIPES = 64;
+
+    private final StripedLock importLocks = new StripedLock(IMPORT_LOCK_STRIPES);
 
+    /**
+     * Runs without a surrounding transaction: the lookups and the final save each take a connection only for
+     * their own short transaction, so none is held while the upstream fetch of an unknown tender blocks.
+     * Users opening the same unknown tender on this node wait for the first one's import instead of each
+     * fetching it; across nodes the primary key decides who imported it.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TenderCwk getTenderById(String auth, Long id) throws ParseException {
         String email = jwtService.getEmailFromToken(auth.substring(7));
-        UserCwk user = userRepo.findByEmail(email)
+        UserCwk user = readOnly(() -> userRepo.findByEmail(email))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
         if (tenderRepo.existsById(id)) {
-            TenderCwk res = tenderRepo.findByIdAndUserInAnyRole(id, user);
-            if (res == null) {
-                throw new AccessDeniedException("Access denied");
-            }
-            return res;
+            return findForUser(id, user);
         }
 
         if (!user.getRoles().contains(Role.USER)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Not Found");
         }
 
-        ParsedTenderDTO parsed = parsingService.getTenderById(id);
-        if (parsed == null) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Not found tender by id: " + id);
+        Lock lock = importLocks.of(id);
+        lock.lock();
+        try {
+            if (tenderRepo.existsById(id)) {
+                return findForUser(id, user);
+            }
+
+            ParsedTenderDTO parsed = parsingService.getTenderById(id);
+            if (parsed == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Not found tender by id: " + id);
+            }
+
+            TenderCwk saved = save(user, id, parsed);
+            return saved != null ? saved : findForUser(id, user);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private TenderCwk findForUser(Long id, UserCwk user) {
+        TenderCwk res = readOnly(() -> initialized(tenderRepo.findByIdAndUserInAnyRole(id, user)));
+        if (res == null) {
+            throw new AccessDeniedException("Access denied");
         }
+        return res;
+    }
+
+    /**
+     * Runs a read in a short transaction of its own. A repository call made outside one in a NOT_SUPPORTED
+     * method would leave its EntityManager, and with it a connection, bound until the method returns.
+     */
+    private <T> T readOnly(Supplier<T> read) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> read.get());
+    }
 
-        return save(user, id, parsed);
+    /**
+     * Loads the lazy collections of a tender that is returned as JSON. Open-in-view is off, so there is no
+     * session left by the time it is written.
+     */
+    private static TenderCwk initialized(TenderCwk tender) {
+        if (tender != null) {
+            Hibernate.initialize(tender.getFiles());
+            Hibernate.initialize(tender.getItems());
+            Hibernate.initialize(tender.getItemsAndParticipants());
+        }
+        return tender;
     }
 
     public List<TenderDTO> getTenderForJWT(String auth, Integer pageNumber, Integer pageSize, String sortBy,
@@ -84,103 +164,97 @@ public class TenderService {
         UserCwk user = userRepo.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        Specification<TenderCwk> spec;
-
-        switch (Role.valueOf(role)) {
-            case USER: {
-                spec = TenderCwkSpecification.hasUserId(user.getId());
-                allParams.remove("userId");
-                break;
-            }
-            case SUPPLIER: {
-                spec = TenderCwkSpecification.hasSupplierId(user.getId());
-                allParams.remove("supplierId");
-                break;
-            }
-            case TENDERER: {
-                spec = TenderCwkSpecification.hasTendererId(user.getId());
-                allParams.remove("tendererId");
-                break;
-            }
-            default: {
-                throw new IllegalArgumentException("Not found role");
-            }
-        }
-
-        Set<String> processedKeys = new HashSet<>();
+        Specification<TenderCwk> spec = roleSpecification(user, role, allParams)
+                .and(tenderFilter.toSpecification(allParams));
+        PageRequest pageable = PageRequest.of(pageNumber, pageSize, tenderFilter.sort(sortBy, sortDirection));
 
-        for (Map.Entry<String, String> entry : allParams.entrySet()) {
-            String key = entry.getKey();
-            if (processedKeys.contains(key)) continue;
+        return tenderRepo.findPage(spec, pageable, TenderDTOProjection.INSTANCE);
+    }
 
-            if (key.endsWith("_start") || key.endsWith("_stop")) {
-                String baseKey = key.replaceAll("_(start|stop)$", "");
-                String startVal = allParams.get(baseKey + "_start");
-                String stopVal = allParams.get(baseKey + "_stop");
+    public List<AdminTenderRow> getAllTenders(Integer pageNumber, Integer pageSize, String sortBy,
+                                              String sortDirection, Map<String, String> allParams) {
+        Specification<TenderCwk> spec = tenderFilter.toSpecification(allParams);
+        PageRequest pageable = PageRequest.of(pageNumber, pageSize, tenderFilter.sort(sortBy, sortDirection));
 
-                spec = spec.and(TenderCwkSpecification.fieldInRange(baseKey, startVal, stopVal));
+        return attachOwnerRoles(tenderRepo.findPage(spec, pageable, AdminTenderRowProjection.INSTANCE));
+    }
 
-                processedKeys.add(baseKey + "_start");
-                processedKeys.add(baseKey + "_stop");
-            } else if (!processedKeys.contains(key + "_start") && !processedKeys.contains(key + "_stop")) {
-                spec = spec.and(TenderCwkSpecification.fieldStartsWith(key, entry.getValue()));
-                processedKeys.add(key);
-            }
-        }
+    public CursorPageDTO<TenderDTO> scrollTenderForJWT(String auth, String cursor, Integer pageSize, String sortBy,
+                                                       String sortDirection, String role,
+                                                       Map<String, String> allParams) throws ParseException {
+        String email = jwtService.getEmailFromToken(auth.substring(7));
+        UserCwk user = userRepo.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        Sort.Direction direction = sortDirection.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
-        PageRequest pageable = PageRequest.of(pageNumber, pageSize, Sort.by(direction, sortBy));
+        Specification<TenderCwk> spec = roleSpecification(user, role, allParams)
+                .and(tenderFilter.toSpecification(allParams));
 
-        return tenderRepo.findAll(spec, pageable).getContent().stream()
-                .map(e -> modelMapper.map(e, TenderDTO.class))
-                .toList();
+        KeysetSlice<TenderDTO> slice = scroll(spec, cursor, pageSize, sortBy, sortDirection,
+                TenderDTOProjection.INSTANCE);
+        return new CursorPageDTO<>(
+                slice.content(),
+                slice.next() != null ? CursorCodec.encode(slice.next()) : null,
+                slice.hasNext()
+        );
     }
 
-    public List<Map<String, Object>> getAllTenders(Integer pageNumber, Integer pageSize, String sortBy,
-                                                   String sortDirection, Map<String, String> allParams) {
-        Specification<TenderCwk> spec = Specification.where(null);
-
-        Set<String> processedKeys = new HashSet<>();
-
-        for (Map.Entry<String, String> entry : allParams.entrySet()) {
-            String key = entry.getKey();
-            if (processedKeys.contains(key)) continue;
+    public CursorPageDTO<AdminTenderRow> scrollAllTenders(String cursor, Integer pageSize, String sortBy,
+                                                          String sortDirection, Map<String, String> allParams) {
+        Specification<TenderCwk> spec = tenderFilter.toSpecification(allParams);
+
+        KeysetSlice<AdminTenderRow> slice = scroll(spec, cursor, pageSize, sortBy, sortDirection,
+                AdminTenderRowProjection.INSTANCE);
+        return new CursorPageDTO<>(
+                attachOwnerRoles(slice.content()),
+                slice.next() != null ? CursorCodec.encode(slice.next()) : null,
+                slice.hasNext()
+        );
+    }
 
-            if (key.endsWith("_start") || key.endsWith("_stop")) {
-                String baseKey = key.replaceAll("_(start|stop)$", "");
-                String startVal = allParams.get(baseKey + "_start");
-                String stopVal = allParams.get(baseKey + "_stop");
+    public List<TenderDTO> searchTenderForJWT(String auth, String query, String role, Integer pageNumber,
+                                              Integer pageSize) throws ParseException {
+        String email = jwtService.getEmailFromToken(auth.substring(7));
+        UserCwk user = userRepo.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-                spec = spec.and(TenderCwkSpecification.fieldInRange(baseKey, startVal, stopVal));
+        return search(query, Role.valueOf(role), user.getId(), pageNumber, pageSize);
+    }
 
-                processedKeys.add(baseKey + "_start");
-                processedKeys.add(baseKey + "_stop");
-            } else if (!processedKeys.contains(key + "_start") && !processedKeys.contains(key + "_stop")) {
-                spec = spec.and(TenderCwkSpecification.fieldStartsWith(key, entry.getValue()));
-                processedKeys.add(key);
-            }
-        }
+    public List<TenderDTO> searchAllTenders(String query, Integer pageNumber, Integer pageSize) {
+        return search(query, null, null, pageNumber, pageSize);
+    }
 
-        Sort.Direction direction = sortDirection.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
-        PageRequest pageable = PageRequest.of(pageNumber, pageSize, Sort.by(direction, sortBy));
+    public StreamingResponseBody exportTenderForJWT(String auth, String role, ExportFormat format, String sortBy,
+                                                    String sortDirection, Map<String, String> allParams) throws ParseException {
+        String email = jwtService.getEmailFromToken(auth.substring(7));
+        UserCwk user = userRepo.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        List<TenderCwk> list = tenderRepo.findAll(spec, pageable).getContent();
-        List<Map<String, Object>> responseList = new ArrayList<>();
+        Specification<TenderCwk> spec = roleSpecification(user, role, allParams)
+                .and(tenderFilter.toSpecification(allParams));
+        return export(spec, tenderFilter.sort(sortBy, sortDirection), format);
+    }
 
-        for (TenderCwk tender : list) {
-            Map<String, Object> tenderUserPair = new HashMap<>();
+    public StreamingResponseBody exportAllTenders(ExportFormat format, String sortBy, String sortDirection,
+                                                  Map<String, String> allParams) {
+        Specification<TenderCwk> spec = tenderFilter.toSpecification(allParams);
+        return export(spec, tenderFilter.sort(sortBy, sortDirection), format);
+    }
 
-            if (tender.getUser() != null) {
-                Hibernate.initialize(tender.getUser());
-                UserCwk user = (UserCwk) Hibernate.unproxy(tender.getUser());
-                tenderUserPair.put("user", user);
-            }
+    public List<TenderStatsDTO> getStatsForJWT(String auth, String role, String groupBy,
+                                               Map<String, String> allParams) throws ParseException {
+        String email = jwtService.getEmailFromToken(auth.substring(7));
+        UserCwk user = userRepo.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-            tenderUserPair.put("tender", modelMapper.map(tender, TenderDTO.class));
-            responseList.add(tenderUserPair);
-        }
+        Specification<TenderCwk> spec = roleSpecification(user, role, allParams)
+                .and(tenderFilter.toSpecification(allParams));
+        return tenderRepo.aggregate(spec, new TenderStatsProjection(TenderStatsDimension.parse(groupBy)));
+    }
 
-        return responseList;
+    public List<TenderStatsDTO> getAllStats(String groupBy, Map<String, String> allParams) {
+        Specification<TenderCwk> spec = tenderFilter.toSpecification(allParams);
+        return tenderRepo.aggregate(spec, new TenderStatsProjection(TenderStatsDimension.parse(groupBy)));
     }
 
     public TenderCwk updateByIdAndJWT(String auth, TenderCwk updatedFields) throws ParseException {
@@ -205,9 +279,9 @@ public class TenderService {
 
         updatedFields.setItemsAndParticipants(null);
 
-        BeanUtils.copyProperties(updatedFields, res, getNullPropertyNames(updatedFields));
+        tenderMapper.patch(updatedFields, res);
 
-        return tenderRepo.save(res);
+        return initialized(tenderRepo.save(res));
     }
 
     public TenderCwk updateById(TenderCwk updatedFields, Long tendererId, Long supplierId, Long participantId, Long userId) {
@@ -258,9 +332,9 @@ public class TenderService {
 
         updatedFields.setItemsAndParticipants(null);
 
-        BeanUtils.copyProperties(updatedFields, res, getNullPropertyNames(updatedFields));
+        tenderMapper.patch(updatedFields, res);
 
-        return tenderRepo.save(res);
+        return initialized(tenderRepo.save(res));
     }
 
     public void deleteById(Long id) {
@@ -289,20 +363,42 @@ public class TenderService {
         tenderRepo.delete(res);
     }
 
+    /** Like {@link #getTenderById}, fetches and maps with no transaction open and only the save writes. */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void addTenderForIdByAdmin(Long id, Long tenderId) {
         UserCwk user = userRepo.findById(id)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
 
-        if (tenderRepo.existsById(tenderId)) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Tender already exists");
-        }
+        Lock lock = importLocks.of(tenderId);
+        lock.lock();
+        try {
+            if (tenderRepo.existsById(tenderId)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Tender already exists");
+            }
+
+            ParsedTenderDTO parsed = parsingService.getTenderById(tenderId);
+            if (parsed == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Not found tender by id: " + tenderId);
+            }
 
-        ParsedTenderDTO parsed = parsingService.getTenderById(tenderId);
-        if (parsed == null) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Not found tender by id: " + tenderId);
+            if (save(user, tenderId, parsed) == null) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Tender already exists");
+            }
+        } finally {
+            lock.unlock();
         }
+    }
 
-        save(user, tenderId, parsed);
+    public List<UpstreamBackoff.Entry> getUpstreamBackoff() {
+        return upstreamBackoff.entries();
+    }
+
+    public void clearUpstreamBackoff(Long tenderId) {
+        if (tenderId == null) {
+            upstreamBackoff.clearAll();
+        } else if (!upstreamBackoff.clear(tenderId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No upstream backoff for tender: " + tenderId);
+        }
     }
 
     public List<String> getUnits() {
@@ -313,121 +409,122 @@ public class TenderService {
         return participantRepo.findAll();
     }
 
-    public TenderCwk save(UserCwk user, Long id, ParsedTenderDTO parsed) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
-        DateTimeFormatter formatterWithoutTime = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-
-        TenderCwk newtender = new TenderCwk();
-        newtender.setUser(user);
-        newtender.setId(id);
-
-        if (parsed != null) {
-            newtender.setProzorroNumber(parsed.getProzorroNumber());
-            newtender.setProcedureType(parsed.getProcedureType());
-
-            if (parsed.getOrganizer() != null) {
-                newtender.setOrganizerName(parsed.getOrganizer().getName());
-                newtender.setOrganizerUsreou(parsed.getOrganizer().getUsreou());
-                newtender.setOrganizerAddress(parsed.getOrganizer().getAddress());
-
-                if (parsed.getOrganizer().getContactPerson() != null) {
-                    newtender.setContactPersonEmail(parsed.getOrganizer().getContactPerson().getEmail());
-                    newtender.setContactPersonPhone(parsed.getOrganizer().getContactPerson().getPhone());
-                    newtender.setContactPersonName(parsed.getOrganizer().getContactPerson().getName());
-                }
+    private Specification<TenderCwk> roleSpecification(UserCwk user, String role, Map<String, String> allParams) {
+        switch (Role.valueOf(role)) {
+            case USER: {
+                allParams.remove("userId");
+                return TenderCwkSpecification.hasUserId(user.getId());
             }
-
-            newtender.setTitle(parsed.getTitle());
-
-            if (parsed.getCategory() != null) {
-                newtender.setCategoryId(parsed.getCategory().getId());
-                newtender.setCategoryCode(parsed.getCategory().getCode());
-                newtender.setCategoryTitle(parsed.getCategory().getTitle());
+            case SUPPLIER: {
+                allParams.remove("supplierId");
+                return TenderCwkSpecification.hasSupplierId(user.getId());
             }
+            case TENDERER: {
+                allParams.remove("tendererId");
+                return TenderCwkSpecification.hasTendererId(user.getId());
+            }
+            default: {
+                throw new IllegalArgumentException("Not found role");
+            }
+        }
+    }
 
-            newtender.setStatusTitle(parsed.getStatusTitle());
+    private StreamingResponseBody export(Specification<TenderCwk> spec, Sort sort, ExportFormat format) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
 
-            if (parsed.getBudget() != null) {
-                newtender.setBudgetAmount(parsed.getBudget().getAmount());
-                newtender.setBudgetAmountTitle(parsed.getBudget().getAmountTitle());
-                newtender.setWithVat(parsed.getBudget().isWithVat());
-                newtender.setVatTitle(parsed.getBudget().getVatTitle());
-                newtender.setCurrencyTitle(parsed.getBudget().getCurrencyTitle());
-                newtender.setCurrencyHtmlTitle(parsed.getBudget().getCurrencyHtmlTitle());
-                newtender.setCurrencyId(parsed.getBudget().getCurrencyId());
+        return out -> transaction.executeWithoutResult(status -> {
+            try (Stream<TenderDTO> rows = tenderRepo.stream(spec, sort, EXPORT_FETCH_SIZE,
+                    TenderDTOProjection.INSTANCE)) {
+                RowExportWriter.write(rows, TenderDTO.class, format, objectMapper, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+        });
+    }
 
-            newtender.setParticipantCost(parsed.getParticipationCost());
+    private List<TenderDTO> search(String query, Role ownerRole, Long ownerId, Integer pageNumber, Integer pageSize) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        if (pageNumber < 0 || pageSize < 1) {
+            throw new IllegalArgumentException("Invalid page request");
+        }
 
-            if (parsed.getNomenclaturesList() != null && !parsed.getNomenclaturesList().isEmpty()) {
-                newtender.setDeliveryAddress(parsed.getNomenclaturesList().getFirst().getDeliveryAdress());
+        List<Long> rankedIds = tenderRepo.searchRankedIds(query.trim(), ownerRole, ownerId,
+                pageNumber * pageSize, pageSize);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
 
-                try {
-                    newtender.setDeliveryPeriodTo(LocalDate.parse(
-                            parsed.getNomenclaturesList().getFirst().getDeliveryPeriodTo(), formatterWithoutTime));
-                } catch (Exception ignored) {}
-            }
+        Map<Long, TenderDTO> byId = new HashMap<>();
+        for (TenderDTO dto : tenderRepo.findPage(TenderCwkSpecification.hasIdIn(rankedIds),
+                PageRequest.of(0, rankedIds.size()), TenderDTOProjection.INSTANCE)) {
+            byId.put(dto.getId(), dto);
+        }
 
-            if (parsed.getAwards() != null && !parsed.getAwards().isEmpty() &&
-                    parsed.getAwards().getFirst().getComplaintPeriodStart() != null) {
-                try {
-                    newtender.setQualificationDate(
-                            parsed.getAwards().getFirst().getComplaintPeriodStart().plusDays(4));
-                } catch (Exception ignored) {}
+        List<TenderDTO> result = new ArrayList<>(rankedIds.size());
+        for (Long id : rankedIds) {
+            TenderDTO dto = byId.get(id);
+            if (dto != null) {
+                result.add(dto);
             }
+        }
+        return result;
+    }
 
-            if (parsed.getParticipantContracts() != null && !parsed.getParticipantContracts().isEmpty()) {
-                var contract = parsed.getParticipantContracts().getFirst().getContracts();
-                if (contract != null && !contract.isEmpty()) {
-                    var document = contract.getFirst().getDocuments();
-                    if (document != null && !document.isEmpty()) {
-                        try {
-                            newtender.setIdDeal(String.valueOf(document.getFirst().getId()));
-                            newtender.setDateDeal(LocalDateTime.parse(document.getFirst().getDateModified(), formatter));
-                            newtender.setUrlDeal(document.getFirst().getViewUrl());
-                        } catch (Exception ignored) {}
-                    }
-                    newtender.setAmountDeal(contract.getFirst().getAmount());
-                }
-            }
+    private <R> KeysetSlice<R> scroll(Specification<TenderCwk> spec, String cursor, Integer pageSize,
+                                      String sortBy, String sortDirection,
+                                      TupleProjection<TenderCwk, R> projection) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
 
-            if (parsed.getNomenclaturesList() != null) {
-                List<ItemCwk> items = parsed.getNomenclaturesList().stream()
-                        .map(n -> {
-                            ItemCwk item = new ItemCwk();
-                            item.setTender(newtender);
-                            item.setCount(n.getCount());
-                            item.setTitle(n.getTitle());
-                            return item;
-                        }).collect(Collectors.toList());
-
-                newtender.setItems(items);
-            }
+        FilterField<TenderCwk> sortField = tenderFilter.sortField(sortBy);
+        Sort.Direction direction = FilterCompiler.direction(sortDirection);
+        Keyset after = cursor != null && !cursor.isEmpty()
+                ? CursorCodec.decode(cursor, sortField, direction)
+                : null;
 
-            if (parsed.getPaymentTerms() != null && !parsed.getPaymentTerms().isEmpty()) {
-                newtender.setPaymentTermsDay(parsed.getPaymentTerms().getFirst().getDays());
-            }
+        return tenderRepo.findSlice(spec, sortField, direction, after, pageSize, projection);
+    }
 
-            if (parsed.getGuarantee() != null) {
-                try {
-                    newtender.setGuaranteeBank(parsed.getGuarantee().isAmountTitle());
-                } catch (Exception ignored) {}
+    private List<AdminTenderRow> attachOwnerRoles(List<AdminTenderRow> rows) {
+        Set<Long> ownerIds = new HashSet<>();
+        for (AdminTenderRow row : rows) {
+            if (row.getUser() != null) {
+                ownerIds.add(row.getUser().getId());
             }
+        }
+        if (ownerIds.isEmpty()) {
+            return rows;
+        }
 
-            if (parsed.getImportantDates() != null) {
-                try {
-                    if (parsed.getImportantDates().getEnquiryPeriodStart() != null)
-                        newtender.setEnquiryPeriodStart(LocalDateTime.parse(parsed.getImportantDates().getEnquiryPeriodStart(), formatter));
-                    if (parsed.getImportantDates().getEnquiryPeriodEnd() != null)
-                        newtender.setEnquiryPeriodEnd(LocalDateTime.parse(parsed.getImportantDates().getEnquiryPeriodEnd(), formatter));
-                    if (parsed.getImportantDates().getTenderingPeriodEnd() != null)
-                        newtender.setTenderingPeriodEnd(LocalDateTime.parse(parsed.getImportantDates().getTenderingPeriodEnd(), formatter));
-                    if (parsed.getImportantDates().getAuctionStart() != null)
-                        newtender.setAuctionStart(LocalDateTime.parse(parsed.getImportantDates().getAuctionStart(), formatter));
-                } catch (Exception ignored) {}
+        Map<Long, Set<Role>> roles = new HashMap<>();
+        for (Object[] userRole : userRepo.findRolesByUserIds(ownerIds)) {
+            roles.computeIfAbsent((Long) userRole[0], id -> new HashSet<>()).add((Role) userRole[1]);
+        }
+        for (AdminTenderRow row : rows) {
+            if (row.getUser() != null) {
+                row.getUser().setRoles(roles.getOrDefault(row.getUser().getId(), Set.of()));
             }
         }
+        return rows;
+    }
 
-        return tenderRepo.save(newtender);
+    /**
+     * Inserts a newly imported tender with a single INSERT and no SELECT before it. Returns null if the id was
+     * inserted concurrently: the INSERT then waits for that transaction and fails on the primary key.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TenderCwk save(UserCwk user, Long id, ParsedTenderDTO parsed) {
+        try {
+            return tenderRepo.save(UpstreamTenderMapping.newTender(user, id, parsed));
+        } catch (DataIntegrityViolationException e) {
+            if (tenderRepo.existsById(id)) {
+                return null;
+            }
+            throw e;
+        }
     }
 }
\ No newline at end of file
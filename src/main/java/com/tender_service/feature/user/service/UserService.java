@@ -6,9 +6,9 @@ import com.tender_service.core.api.database.repository.UserRepository;
 import com.tender_service.core.configuration.JwtService;
 import com.tender_service.feature.user.model.AuthorizationDTO;
 import com.tender_service.feature.user.model.UserCWKDTO;
+import com.tender_service.feature.user.model.UserMapper;
 import com.tender_service.utils.UserCwkSpecification;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -22,7 +22,6 @@ import org.springframework.web.server.ResponseStatusException;
 import java.text.ParseException;
 import java.util.*;
 
-import static com.tender_service.utils.BeanCopyUtils.getNullPropertyNames;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
@@ -36,6 +35,8 @@ public class UserService {
     private UserRepository userRepo;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private UserMapper userMapper;
 
     public UserCwk getUsersInfo(String auth) throws ParseException {
         String email = jwtService.getEmailFromToken(auth.substring(7));
@@ -71,7 +72,7 @@ public class UserService {
         UserCwk user = userRepo.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        BeanUtils.copyProperties(updatedUserCwk, user, getNullPropertyNames(updatedUserCwk));
+        userMapper.patch(updatedUserCwk, user);
 
         if (user.getPassword() != null) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
@@ -105,7 +106,7 @@ public class UserService {
             requestedRoles.remove(Role.ADMIN);
         }
 
-        BeanUtils.copyProperties(updatedUserCwk, user, getNullPropertyNames(updatedUserCwk));
+        userMapper.patch(updatedUserCwk, user);
         user.setRoles(requestedRoles);
 
         if (user.getPassword() != null) {
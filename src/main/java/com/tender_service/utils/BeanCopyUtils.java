@@ -1,25 +0,0 @@
-package com.tender_service.utils;
-
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
-
-import java.util.HashSet;
-import java.util.Set;
-
-public class BeanCopyUtils {
-
-    public static String[] getNullPropertyNames(Object source) {
-        final BeanWrapper src = new BeanWrapperImpl(source);
-        var pds = src.getPropertyDescriptors();
-
-        Set<String> emptyNames = new HashSet<>();
-        for (var pd : pds) {
-            Object value = src.getPropertyValue(pd.getName());
-            if (value == null) {
-                emptyNames.add(pd.getName());
-            }
-        }
-
-        return emptyNames.toArray(new String[0]);
-    }
-}
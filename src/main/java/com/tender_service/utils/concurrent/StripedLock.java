@@ -0,0 +1,29 @@
+package com.tender_service.utils.concurrent;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks that keys are hashed onto. Callers with the same key always get the same lock;
+ * callers with different keys usually get different ones, at the cost of a lock per stripe instead of
+ * one per key. ReentrantLock parks virtual threads without pinning their carrier.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+
+    public StripedLock(int stripes) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two: " + stripes);
+        }
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock of(long key) {
+        int hash = Long.hashCode(key);
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,63 @@
+package com.tender_service.utils.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a row stream as NDJSON or CSV without collecting it. The first row is flushed right away so
+ * clients see bytes immediately, then output is flushed every {@value #FLUSH_EVERY_ROWS} rows.
+ */
+public final class RowExportWriter {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private RowExportWriter() {
+    }
+
+    public static <T> long write(Stream<T> rows, Class<T> type, ExportFormat format, ObjectMapper jsonMapper,
+                                 OutputStream out) throws IOException {
+        ObjectWriter writer = switch (format) {
+            case NDJSON -> jsonMapper.writerFor(type).withRootValueSeparator("\n");
+            case CSV -> CSV_MAPPER.writerFor(type).with(CSV_MAPPER.schemaFor(type).withHeader());
+        };
+
+        BufferedOutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        long count = 0;
+        try (SequenceWriter sequence = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(buffered)) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sequence.write(iterator.next());
+                if (++count == 1 || count % FLUSH_EVERY_ROWS == 0) {
+                    sequence.flush();
+                }
+            }
+            sequence.flush();
+        }
+        if (format == ExportFormat.NDJSON && count > 0) {
+            buffered.write('\n');
+        }
+        buffered.flush();
+        return count;
+    }
+}
@@ -0,0 +1,140 @@
+package com.tender_service.utils.filter;
+
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.IdentifiableType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Whitelisted filter engine built once from the JPA metamodel. Query parameters are compiled into a
+ * {@link FilterPlan} that is cached by parameter shape, so list requests only parse values.
+ */
+public final class FilterCompiler<T> {
+
+    private static final int MAX_CACHED_PLANS = 512;
+
+    private final Map<String, FilterField<T>> fields;
+    private final Set<String> reservedParams;
+    private final Map<String, FilterPlan<T>> plans = new ConcurrentHashMap<>();
+
+    public FilterCompiler(Collection<FilterField<T>> fields, Set<String> reservedParams) {
+        Map<String, FilterField<T>> registry = new HashMap<>();
+        for (FilterField<T> field : fields) {
+            registry.put(field.name(), field);
+        }
+        this.fields = Map.copyOf(registry);
+        this.reservedParams = Set.copyOf(reservedParams);
+    }
+
+    public static <T> FilterCompiler<T> forEntity(EntityType<T> entity, Set<String> reservedParams,
+                                                  Set<String> excludedAttributes) {
+        List<FilterField<T>> fields = new ArrayList<>();
+
+        for (SingularAttribute<? super T, ?> attribute : entity.getSingularAttributes()) {
+            if (excludedAttributes.contains(attribute.getName())) continue;
+
+            if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                fields.add(FilterField.attribute(attribute.getName(), attribute.getJavaType()));
+            } else if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.MANY_TO_ONE
+                    && attribute.getType() instanceof IdentifiableType<?> target) {
+                SingularAttribute<?, ?> id = target.getId(target.getIdType().getJavaType());
+                fields.add(FilterField.association(attribute.getName() + "Id", attribute.getName(),
+                        id.getName(), id.getJavaType()));
+            }
+        }
+
+        return new FilterCompiler<>(fields, reservedParams);
+    }
+
+    public Specification<T> toSpecification(Map<String, String> params) {
+        return compile(params.keySet()).bind(params);
+    }
+
+    public FilterPlan<T> compile(Collection<String> keys) {
+        TreeSet<String> shape = new TreeSet<>();
+        for (String key : keys) {
+            if (!reservedParams.contains(key)) {
+                shape.add(key);
+            }
+        }
+
+        String shapeKey = String.join("&", shape);
+        FilterPlan<T> plan = plans.get(shapeKey);
+        if (plan == null) {
+            plan = build(shape);
+            if (plans.size() < MAX_CACHED_PLANS) {
+                plans.putIfAbsent(shapeKey, plan);
+            }
+        }
+        return plan;
+    }
+
+    public FilterField<T> sortField(String sortBy) {
+        FilterField<T> field = fields.get(sortBy);
+        if (field == null || !field.sortable()) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+        }
+        return field;
+    }
+
+    public Sort sort(String sortBy, String sortDirection) {
+        return Sort.by(direction(sortDirection), sortField(sortBy).name());
+    }
+
+    public static Sort.Direction direction(String sortDirection) {
+        return sortDirection.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
+    }
+
+    private FilterPlan<T> build(SortedSet<String> shape) {
+        List<FilterPlan.Clause<T>> clauses = new ArrayList<>();
+        Set<String> rangeFields = new HashSet<>();
+
+        for (String key : shape) {
+            ParsedKey<T> parsed = parseKey(key);
+
+            if (parsed.operator().isRange()) {
+                if (rangeFields.add(parsed.field().name())) {
+                    String startKey = parsed.field().name() + FilterOperator.RANGE_START.suffix();
+                    String stopKey = parsed.field().name() + FilterOperator.RANGE_STOP.suffix();
+                    clauses.add(new FilterPlan.Clause<>(parsed.field(), FilterOperator.RANGE_START,
+                            shape.contains(startKey) ? startKey : null,
+                            shape.contains(stopKey) ? stopKey : null));
+                }
+            } else {
+                clauses.add(new FilterPlan.Clause<>(parsed.field(), parsed.operator(), key, null));
+            }
+        }
+
+        return new FilterPlan<>(clauses);
+    }
+
+    private ParsedKey<T> parseKey(String key) {
+        FilterField<T> exact = fields.get(key);
+        if (exact != null) {
+            return new ParsedKey<>(exact, exact.defaultOperator());
+        }
+
+        for (FilterOperator operator : FilterOperator.values()) {
+            String suffix = operator.suffix();
+            if (suffix.isEmpty() || !key.endsWith(suffix)) continue;
+
+            FilterField<T> field = fields.get(key.substring(0, key.length() - suffix.length()));
+            if (field != null) {
+                if (!field.supports(operator)) {
+                    throw new IllegalArgumentException("Filter '" + key + "' is not supported for " + field.name());
+                }
+                return new ParsedKey<>(field, operator);
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown filter parameter: " + key);
+    }
+
+    private record ParsedKey<T>(FilterField<T> field, FilterOperator operator) {
+    }
+}
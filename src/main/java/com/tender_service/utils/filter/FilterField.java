@@ -0,0 +1,102 @@
+package com.tender_service.utils.filter;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+public record FilterField<T>(
+        String name,
+        Class<?> type,
+        Function<Root<T>, Path<?>> path,
+        Function<String, Object> parser,
+        Set<FilterOperator> operators,
+        boolean sortable
+) {
+    private static final DateTimeFormatter ISO_DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    public static <T> FilterField<T> attribute(String name, Class<?> javaType) {
+        Class<?> type = wrap(javaType);
+        return new FilterField<>(name, type, root -> root.get(name), parserFor(type), operatorsFor(type),
+                Comparable.class.isAssignableFrom(type));
+    }
+
+    public static <T> FilterField<T> association(String name, String attribute, String idAttribute, Class<?> idType) {
+        Class<?> type = wrap(idType);
+        return new FilterField<>(name, type, root -> root.get(attribute).get(idAttribute), parserFor(type),
+                EnumSet.of(FilterOperator.EQUALS, FilterOperator.IN), false);
+    }
+
+    public FilterOperator defaultOperator() {
+        return type == String.class ? FilterOperator.PREFIX : FilterOperator.EQUALS;
+    }
+
+    public boolean supports(FilterOperator operator) {
+        return operators.contains(operator);
+    }
+
+    public Object parse(String raw) {
+        try {
+            return parser.apply(raw.trim());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid value for filter '" + name + "': " + raw);
+        }
+    }
+
+    private static Set<FilterOperator> operatorsFor(Class<?> type) {
+        if (type == String.class) {
+            return EnumSet.of(FilterOperator.PREFIX, FilterOperator.EQUALS, FilterOperator.IN);
+        }
+        if (Number.class.isAssignableFrom(type)) {
+            return EnumSet.of(FilterOperator.EQUALS, FilterOperator.RANGE_START, FilterOperator.RANGE_STOP,
+                    FilterOperator.IN);
+        }
+        if (type == LocalDateTime.class || type == LocalDate.class) {
+            return EnumSet.of(FilterOperator.EQUALS, FilterOperator.RANGE_START, FilterOperator.RANGE_STOP);
+        }
+        if (type.isEnum()) {
+            return EnumSet.of(FilterOperator.EQUALS, FilterOperator.IN);
+        }
+        return EnumSet.of(FilterOperator.EQUALS);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<String, Object> parserFor(Class<?> type) {
+        if (type == String.class) return value -> value;
+        if (type == Long.class) return Long::valueOf;
+        if (type == Integer.class) return Integer::valueOf;
+        if (type == Double.class) return Double::valueOf;
+        if (type == Boolean.class) return FilterField::parseBoolean;
+        if (type == LocalDateTime.class) return value -> LocalDateTime.parse(ensureDateTimeFormat(value), ISO_DATE_TIME);
+        if (type == LocalDate.class) return value -> LocalDate.parse(value, ISO_DATE);
+        if (type.isEnum()) return value -> Enum.valueOf((Class<? extends Enum>) type, value);
+        return value -> {
+            throw new IllegalArgumentException("Unsupported filter type " + type.getSimpleName());
+        };
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value)) return Boolean.TRUE;
+        if ("false".equalsIgnoreCase(value)) return Boolean.FALSE;
+        throw new IllegalArgumentException(value);
+    }
+
+    private static String ensureDateTimeFormat(String input) {
+        return input.length() == 10 ? input + "T00:00:00" : input;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        if (type == long.class) return Long.class;
+        if (type == int.class) return Integer.class;
+        if (type == double.class) return Double.class;
+        if (type == boolean.class) return Boolean.class;
+        throw new IllegalArgumentException("Unsupported primitive type " + type);
+    }
+}
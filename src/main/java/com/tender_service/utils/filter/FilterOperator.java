@@ -0,0 +1,23 @@
+package com.tender_service.utils.filter;
+
+public enum FilterOperator {
+    PREFIX(""),
+    EQUALS("_eq"),
+    RANGE_START("_start"),
+    RANGE_STOP("_stop"),
+    IN("_in");
+
+    private final String suffix;
+
+    FilterOperator(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public String suffix() {
+        return suffix;
+    }
+
+    public boolean isRange() {
+        return this == RANGE_START || this == RANGE_STOP;
+    }
+}
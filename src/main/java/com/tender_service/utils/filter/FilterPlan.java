@@ -0,0 +1,97 @@
+package com.tender_service.utils.filter;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class FilterPlan<T> {
+
+    private static final int MAX_IN_VALUES = 100;
+
+    private final List<Clause<T>> clauses;
+
+    FilterPlan(List<Clause<T>> clauses) {
+        this.clauses = List.copyOf(clauses);
+    }
+
+    public List<Clause<T>> clauses() {
+        return clauses;
+    }
+
+    public Specification<T> bind(Map<String, String> params) {
+        List<BoundClause<T>> bound = new ArrayList<>(clauses.size());
+        for (Clause<T> clause : clauses) {
+            bound.add(clause.bind(params));
+        }
+
+        return (root, query, cb) -> {
+            Predicate[] predicates = new Predicate[bound.size()];
+            for (int i = 0; i < predicates.length; i++) {
+                predicates[i] = bound.get(i).toPredicate(root, cb);
+            }
+            return cb.and(predicates);
+        };
+    }
+
+    public record Clause<T>(FilterField<T> field, FilterOperator operator, String key, String stopKey) {
+
+        BoundClause<T> bind(Map<String, String> params) {
+            return switch (operator) {
+                case PREFIX -> new BoundClause<>(field, operator, escapeLike(params.get(key)) + "%", null, null);
+                case EQUALS -> new BoundClause<>(field, operator, field.parse(params.get(key)), null, null);
+                case IN -> new BoundClause<>(field, operator, null, null, parseList(params.get(key)));
+                case RANGE_START, RANGE_STOP -> new BoundClause<>(field, operator,
+                        key != null ? field.parse(params.get(key)) : null,
+                        stopKey != null ? field.parse(params.get(stopKey)) : null,
+                        null);
+            };
+        }
+
+        private List<Object> parseList(String raw) {
+            List<Object> values = new ArrayList<>();
+            for (String part : raw.split(",")) {
+                if (!part.isBlank()) {
+                    values.add(field.parse(part));
+                }
+            }
+            if (values.isEmpty() || values.size() > MAX_IN_VALUES) {
+                throw new IllegalArgumentException("Filter '" + field.name() + "' expects 1.." + MAX_IN_VALUES + " values");
+            }
+            return values;
+        }
+
+        private static String escapeLike(String value) {
+            return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        }
+    }
+
+    private record BoundClause<T>(FilterField<T> field, FilterOperator operator,
+                                  Object value, Object upper, List<Object> values) {
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Predicate toPredicate(Root<T> root, CriteriaBuilder cb) {
+            Path<?> path = field.path().apply(root);
+            return switch (operator) {
+                case PREFIX -> cb.like((Expression<String>) path, (String) value, '\\');
+                case EQUALS -> cb.equal(path, value);
+                case IN -> path.in(values);
+                case RANGE_START, RANGE_STOP -> {
+                    Expression<Comparable> expression = (Expression<Comparable>) path;
+                    if (value != null && upper != null) {
+                        yield cb.between(expression, (Comparable) value, (Comparable) upper);
+                    } else if (value != null) {
+                        yield cb.greaterThanOrEqualTo(expression, (Comparable) value);
+                    }
+                    yield cb.lessThanOrEqualTo(expression, (Comparable) upper);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.tender_service.utils.pagination;
+
+import com.tender_service.utils.filter.FilterField;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class CursorCodec {
+
+    private static final String SEPARATOR = "\n";
+
+    public static String encode(Keyset keyset) {
+        String value = keyset.value() == null ? "" : "=" + keyset.value();
+        String raw = keyset.sortBy() + SEPARATOR + keyset.direction().name() + SEPARATOR + keyset.id() + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Keyset decode(String cursor, FilterField<?> sortField, Sort.Direction direction) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        if (parts.length != 4 || !parts[0].equals(sortField.name()) || !parts[1].equals(direction.name())) {
+            throw new IllegalArgumentException("Cursor does not match sortBy/sortDirection");
+        }
+
+        try {
+            Long id = Long.valueOf(parts[2]);
+            Object value = parts[3].isEmpty() ? null : sortField.parser().apply(parts[3].substring(1));
+            return new Keyset(parts[0], direction, value, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
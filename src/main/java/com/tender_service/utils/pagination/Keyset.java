@@ -0,0 +1,6 @@
+package com.tender_service.utils.pagination;
+
+import org.springframework.data.domain.Sort;
+
+public record Keyset(String sortBy, Sort.Direction direction, Object value, Long id) {
+}
@@ -0,0 +1,6 @@
+package com.tender_service.utils.pagination;
+
+import java.util.List;
+
+public record KeysetSlice<T>(List<T> content, boolean hasNext, Keyset next) {
+}
@@ -0,0 +1,21 @@
+package com.tender_service.utils.projection;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+
+/**
+ * GROUP BY projection: tuples hold the {@link #groupBy} keys first, then the {@link #aggregates}.
+ */
+public interface AggregateProjection<T, R> {
+
+    List<Expression<?>> groupBy(Root<T> root, CriteriaBuilder cb);
+
+    List<Selection<?>> aggregates(Root<T> root, CriteriaBuilder cb);
+
+    R map(Tuple tuple);
+}
@@ -0,0 +1,29 @@
+package com.tender_service.utils.projection;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+
+public interface TupleProjection<T, R> {
+
+    List<Selection<?>> selections(Root<T> root, CriteriaBuilder cb);
+
+    R map(Tuple tuple);
+
+    static <T> TupleProjection<T, T> entity(Class<T> type) {
+        return new TupleProjection<>() {
+            @Override
+            public List<Selection<?>> selections(Root<T> root, CriteriaBuilder cb) {
+                return List.of(root);
+            }
+
+            @Override
+            public T map(Tuple tuple) {
+                return tuple.get(0, type);
+            }
+        };
+    }
+}
@@ -0,0 +1,68 @@
+-- Full-text document for tenders: own text columns plus the titles of the tender's items.
+-- The 'simple' configuration is used because PostgreSQL ships no Ukrainian stemmer; it still
+-- lowercases and splits words, so matches inside titles are found through the GIN index.
+
+ALTER TABLE tenders ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION tender_search_vector(t tenders) RETURNS tsvector
+LANGUAGE sql STABLE AS $$
+    SELECT setweight(to_tsvector('simple', coalesce(t.title, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(t.organizer_name, '')), 'B')
+        || setweight(to_tsvector('simple', coalesce(
+               (SELECT string_agg(i.title, ' ') FROM items i WHERE i.tender_id = t.id), '')), 'B')
+        || setweight(to_tsvector('simple', coalesce(t.category_title, '')), 'C')
+        || setweight(to_tsvector('simple', coalesce(t.delivery_address, '')), 'D')
+$$;
+
+CREATE OR REPLACE FUNCTION tenders_search_vector_trigger() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_vector := tender_search_vector(NEW);
+    RETURN NEW;
+END
+$$;
+
+DROP TRIGGER IF EXISTS tenders_search_vector_update ON tenders;
+CREATE TRIGGER tenders_search_vector_update
+    BEFORE INSERT OR UPDATE OF title, organizer_name, category_title, delivery_address ON tenders
+    FOR EACH ROW EXECUTE FUNCTION tenders_search_vector_trigger();
+
+-- Item changes are handled once per statement: each affected tender is recomputed and rewritten once,
+-- however many of its items the statement touched. Batched item inserts are sent as multi-row INSERTs
+-- (reWriteBatchedInserts), so importing a tender does not redo the aggregation for every item.
+-- Transition tables allow only one event per trigger, hence three triggers on one function.
+CREATE OR REPLACE FUNCTION items_search_vector_trigger() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE tenders t SET search_vector = tender_search_vector(t)
+        WHERE t.id IN (SELECT n.tender_id FROM new_items n);
+    ELSIF TG_OP = 'DELETE' THEN
+        UPDATE tenders t SET search_vector = tender_search_vector(t)
+        WHERE t.id IN (SELECT o.tender_id FROM old_items o);
+    ELSE
+        UPDATE tenders t SET search_vector = tender_search_vector(t)
+        WHERE t.id IN (SELECT unnest(ARRAY[o.tender_id, n.tender_id])
+                       FROM old_items o JOIN new_items n ON n.id = o.id
+                       WHERE n.tender_id IS DISTINCT FROM o.tender_id OR n.title IS DISTINCT FROM o.title);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS items_search_vector_update ON items;
+DROP TRIGGER IF EXISTS items_search_vector_insert ON items;
+DROP TRIGGER IF EXISTS items_search_vector_delete ON items;
+CREATE TRIGGER items_search_vector_insert
+    AFTER INSERT ON items REFERENCING NEW TABLE AS new_items
+    FOR EACH STATEMENT EXECUTE FUNCTION items_search_vector_trigger();
+CREATE TRIGGER items_search_vector_update
+    AFTER UPDATE ON items REFERENCING OLD TABLE AS old_items NEW TABLE AS new_items
+    FOR EACH STATEMENT EXECUTE FUNCTION items_search_vector_trigger();
+CREATE TRIGGER items_search_vector_delete
+    AFTER DELETE ON items REFERENCING OLD TABLE AS old_items
+    FOR EACH STATEMENT EXECUTE FUNCTION items_search_vector_trigger();
+
+UPDATE tenders t SET search_vector = tender_search_vector(t) WHERE t.search_vector IS NULL;
+
+CREATE INDEX IF NOT EXISTS tenders_search_vector_idx ON tenders USING gin (search_vector);
@@ -0,0 +1,5 @@
+-- Prefix filters (title=..., organizerName=...) compile to LIKE 'value%'. A plain btree under a
+-- non-C collation cannot serve them, so these columns also get pattern_ops indexes.
+
+CREATE INDEX IF NOT EXISTS tenders_title_prefix_idx ON tenders (title varchar_pattern_ops);
+CREATE INDEX IF NOT EXISTS tenders_organizer_name_prefix_idx ON tenders (organizer_name varchar_pattern_ops);
@@ -0,0 +1,5 @@
+-- ItemCwk ids moved from IDENTITY to the pooled ITEMS_SEQ (allocationSize 50) so item inserts can be
+-- batched. Keep the sequence ahead of ids already issued by the identity column; never move it back.
+
+SELECT setval('items_seq', GREATEST((SELECT last_value FROM items_seq),
+                                    (SELECT COALESCE(MAX(id), 0) + 50 FROM items)));
@@ -0,0 +1,19 @@
+-- Refresh worker selection (TenderRepository.findDueForRefresh). The predicate must stay textually
+-- equivalent to TenderRepository.REFRESH_CANDIDATE so the planner can match the partial index; settled
+-- tenders, the bulk of the table, are not indexed at all. Workers walk one id-range shard at a time
+-- (REFRESH_SHARDS), so the index is ordered by id and carries next_refresh_at to filter due rows.
+
+DROP INDEX IF EXISTS tenders_refresh_candidate_idx;
+DROP INDEX IF EXISTS tenders_refresh_due_idx;
+
+CREATE INDEX IF NOT EXISTS tenders_refresh_due_id_idx ON tenders (id, next_refresh_at)
+    WHERE status_title IS NULL OR status_title <> 'Пропозиції розглянуті'
+        OR auction_start IS NULL OR qualification_date IS NULL OR id_deal IS NULL
+        OR date_deal IS NULL OR amount_deal IS NULL OR url_deal IS NULL;
+
+-- Candidates that were never scheduled become due within the next hour rather than all at once.
+UPDATE tenders SET next_refresh_at = now() + random() * interval '1 hour'
+    WHERE next_refresh_at IS NULL
+        AND (status_title IS NULL OR status_title <> 'Пропозиції розглянуті'
+            OR auction_start IS NULL OR qualification_date IS NULL OR id_deal IS NULL
+            OR date_deal IS NULL OR amount_deal IS NULL OR url_deal IS NULL);
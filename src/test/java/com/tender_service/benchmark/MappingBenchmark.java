@@ -0,0 +1,118 @@
+package com.tender_service.benchmark;
+
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.core.api.database.entity.UserCwk;
+import com.tender_service.feature.tender.model.TenderDTO;
+import com.tender_service.feature.tender.model.TenderMapper;
+import com.tender_service.feature.user.model.UserCWKDTO;
+import com.tender_service.feature.user.model.UserMapper;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reflective mapping (ModelMapper, BeanWrapper null-skip copy) against the generated MapStruct mappers.
+ * Run with {@code mvn -Pbench test-compile exec:exec -Dbench=MappingBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MappingBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final TenderMapper tenderMapper = Mappers.getMapper(TenderMapper.class);
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    private TenderCwk tender;
+    private TenderCwk tenderPatch;
+    private UserCWKDTO userPatch;
+
+    @Setup
+    public void setup() {
+        tender = new TenderCwk();
+        tender.setId(42L);
+        tender.setCreatedAt(LocalDateTime.now());
+        tender.setProzorroNumber("UA-2025-01-01-000001-a");
+        tender.setTitle("Road maintenance");
+        tender.setOrganizerName("City council");
+        tender.setOrganizerUsreou("12345678");
+        tender.setCategoryTitle("Construction");
+        tender.setBudgetAmount(1_250_000.0);
+        tender.setWithVat(true);
+        tender.setCurrencyTitle("UAH");
+        tender.setEnquiryPeriodEnd(LocalDateTime.now().plusDays(5));
+        tender.setTenderingPeriodEnd(LocalDateTime.now().plusDays(10));
+        tender.setDateDeal(LocalDateTime.now().plusDays(20));
+        tender.setAmountDeal(1_100_000L);
+        tender.setCost(900);
+
+        tenderPatch = new TenderCwk();
+        tenderPatch.setTitle("Road maintenance, phase 2");
+        tenderPatch.setCommentary("updated");
+        tenderPatch.setCost(950);
+
+        userPatch = new UserCWKDTO();
+        userPatch.setName("Olena");
+        userPatch.setSurname("Koval");
+    }
+
+    @Benchmark
+    public TenderDTO tenderToDtoModelMapper() {
+        return modelMapper.map(tender, TenderDTO.class);
+    }
+
+    @Benchmark
+    public TenderDTO tenderToDtoMapStruct() {
+        return tenderMapper.toDTO(tender);
+    }
+
+    @Benchmark
+    public TenderCwk tenderPatchBeanUtils() {
+        TenderCwk target = new TenderCwk();
+        BeanUtils.copyProperties(tenderPatch, target, nullPropertyNames(tenderPatch));
+        return target;
+    }
+
+    @Benchmark
+    public TenderCwk tenderPatchMapStruct() {
+        TenderCwk target = new TenderCwk();
+        tenderMapper.patch(tenderPatch, target);
+        return target;
+    }
+
+    @Benchmark
+    public UserCwk userPatchBeanUtils() {
+        UserCwk target = new UserCwk();
+        BeanUtils.copyProperties(userPatch, target, nullPropertyNames(userPatch));
+        return target;
+    }
+
+    @Benchmark
+    public UserCwk userPatchMapStruct() {
+        UserCwk target = new UserCwk();
+        userMapper.patch(userPatch, target);
+        return target;
+    }
+
+    private static String[] nullPropertyNames(Object source) {
+        BeanWrapper src = new BeanWrapperImpl(source);
+        Set<String> emptyNames = new HashSet<>();
+        for (var pd : src.getPropertyDescriptors()) {
+            if (src.getPropertyValue(pd.getName()) == null) {
+                emptyNames.add(pd.getName());
+            }
+        }
+        return emptyNames.toArray(new String[0]);
+    }
+}
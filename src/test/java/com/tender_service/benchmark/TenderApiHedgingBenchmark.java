@@ -0,0 +1,119 @@
+package com.tender_service.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import com.tender_service.core.api.parsing_service.ParsingServiceFeignClient;
+import com.tender_service.core.api.parsing_service.UpstreamHedging;
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import feign.Feign;
+import feign.Request;
+import feign.Retryer;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Interactive fetches from a local stub that answers in 5 ms, except for 3% of requests that take 100 ms,
+ * called directly and through {@link UpstreamHedging} (p95 delay, 10% budget). The body is kept minimal so
+ * the numbers show the upstream's latency rather than decoding ({@link TenderDecodingBenchmark} covers that).
+ * Compare the {@code p0.99} lines of the sample-time output. Run with
+ * {@code mvn -Pbench test-compile exec:exec -Dbench=TenderApiHedgingBenchmark}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class TenderApiHedgingBenchmark {
+
+    private static final Request.Options OPTIONS = new Request.Options(2, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true);
+    private static final double SLOW_SHARE = 0.03;
+
+    @Param({"direct", "hedged"})
+    public String mode;
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private UpstreamHedging hedging;
+    private Supplier<ParsedTenderDTO> fetch;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] body = "{\"Title\":\"stub\"}".getBytes(StandardCharsets.UTF_8);
+
+        // Without TCP_NODELAY the stub's responses can sit out a delayed ACK, which would swamp the 5 ms.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 64);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                Thread.sleep(ThreadLocalRandom.current().nextDouble() < SLOW_SHARE ? 100 : 5);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(32)
+                        .setMaxConnPerRoute(32)
+                        .build())
+                .build();
+        ObjectFactory<HttpMessageConverters> converters =
+                () -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()));
+        ParsingServiceFeignClient client = Feign.builder()
+                .client(new ApacheHttp5Client(httpClient))
+                .contract(new SpringMvcContract())
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(converters)))
+                .retryer(Retryer.NEVER_RETRY)
+                .target(ParsingServiceFeignClient.class, "http://localhost:" + server.getAddress().getPort());
+
+        hedging = new UpstreamHedging();
+        ReflectionTestUtils.setField(hedging, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(hedging, "enabled", true);
+        ReflectionTestUtils.setField(hedging, "minDelay", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(hedging, "budgetRatio", 0.1);
+        fetch = () -> client.getTenderByIdIfChanged(1L, null, null, OPTIONS).getBody();
+        for (int call = 0; call < 256; call++) {
+            hedging.call(fetch, fetch, () -> false);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    @Benchmark
+    public ParsedTenderDTO fetchTender() {
+        return mode.equals("hedged") ? hedging.call(fetch, fetch, () -> true) : fetch.get();
+    }
+}
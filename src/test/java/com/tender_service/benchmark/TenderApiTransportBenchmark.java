@@ -0,0 +1,137 @@
+package com.tender_service.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import com.tender_service.core.api.parsing_service.ParsingServiceFeignClient;
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import feign.Client;
+import feign.Feign;
+import feign.Request;
+import feign.Retryer;
+import feign.hc5.ApacheHttp5Client;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Fetches a full-size GetTenderModel payload ({@code fixtures/tender-model.json}) from a local stub through the
+ * tender API Feign client: the JDK {@code HttpURLConnection} transport against pooled HttpClient 5, with and
+ * without gzip. {@code wireBytes} is the rate of response body bytes sent by the stub; divide it by the primary
+ * score for bytes per call. Run with {@code mvn -Pbench test-compile exec:exec -Dbench=TenderApiTransportBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class TenderApiTransportBenchmark {
+
+    private static final Request.Options OPTIONS = new Request.Options(2, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true);
+
+    @Param({"urlconnection", "hc5-identity", "hc5-gzip"})
+    public String transport;
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private ParsingServiceFeignClient client;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] identity;
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/tender-model.json")) {
+            identity = in.readAllBytes();
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(identity);
+        }
+        byte[] gzipped = buffer.toByteArray();
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 64);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+                boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+                byte[] body = gzip ? gzipped : identity;
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.getResponseHeaders().set("X-Body-Bytes", String.valueOf(body.length));
+                if (gzip) {
+                    exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                }
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        });
+        server.start();
+
+        Client transportClient = new Client.Default(null, null);
+        if (transport.startsWith("hc5")) {
+            var builder = HttpClients.custom()
+                    .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                            .setMaxConnTotal(32)
+                            .setMaxConnPerRoute(32)
+                            .build());
+            if (transport.equals("hc5-identity")) {
+                builder.disableContentCompression();
+            }
+            httpClient = builder.build();
+            transportClient = new ApacheHttp5Client(httpClient);
+        }
+
+        ObjectFactory<HttpMessageConverters> converters =
+                () -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()));
+        client = Feign.builder()
+                .client(transportClient)
+                .contract(new SpringMvcContract())
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(converters)))
+                .retryer(Retryer.NEVER_RETRY)
+                .target(ParsingServiceFeignClient.class, "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Wire {
+        public long wireBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            wireBytes = 0;
+        }
+    }
+
+    @Benchmark
+    public ParsedTenderDTO fetchTender(Wire wire) {
+        ResponseEntity<ParsedTenderDTO> response = client.getTenderByIdIfChanged(1L, null, null, OPTIONS);
+        wire.wireBytes += Long.parseLong(response.getHeaders().getFirst("X-Body-Bytes"));
+        return response.getBody();
+    }
+}
@@ -0,0 +1,67 @@
+package com.tender_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tender_service.core.api.parsing_service.TenderModelReader;
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson data binding of the whole {@code ParsedTenderDTO} graph against the streaming
+ * {@link TenderModelReader}, on the fixture payload and on a large tender with 500 nomenclature lines and
+ * 300 contract documents. Run with {@code mvn -Pbench test-compile exec:exec -Dbench=TenderDecodingBenchmark};
+ * add JMH's {@code -prof gc} when running {@code org.openjdk.jmh.Main} directly to see bytes allocated per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TenderDecodingBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Param({"fixture", "large"})
+    public String payload;
+
+    private byte[] body;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectNode tender;
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/tender-model.json")) {
+            tender = (ObjectNode) objectMapper.readTree(in);
+        }
+        if (payload.equals("large")) {
+            ArrayNode nomenclatures = (ArrayNode) tender.get("Nomenclatures");
+            ArrayNode documents = (ArrayNode) tender.at("/ParticipantContracts/0/Contracts/0/Documents");
+            ObjectNode line = (ObjectNode) nomenclatures.get(0);
+            ObjectNode document = (ObjectNode) documents.get(0);
+            while (nomenclatures.size() < 500) {
+                nomenclatures.add(line.deepCopy().put("Title", line.get("Title").asText() + " " + nomenclatures.size()));
+            }
+            while (documents.size() < 300) {
+                documents.add(document.deepCopy().put("Id", documents.size()));
+            }
+        }
+        body = objectMapper.writeValueAsBytes(tender);
+    }
+
+    @Benchmark
+    public ParsedTenderDTO dataBinding() throws IOException {
+        return objectMapper.readValue(new ByteArrayInputStream(body), ParsedTenderDTO.class);
+    }
+
+    @Benchmark
+    public ParsedTenderDTO streaming() throws IOException {
+        return TenderModelReader.read(new ByteArrayInputStream(body));
+    }
+}
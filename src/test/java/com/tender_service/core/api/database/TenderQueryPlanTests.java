@@ -0,0 +1,221 @@
+package com.tender_service.core.api.database;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.core.api.database.repository.TenderRepository;
+import com.tender_service.core.configuration.FilterConfig;
+import com.tender_service.feature.tender.model.TenderDTOProjection;
+import com.tender_service.utils.TenderCwkSpecification;
+import com.tender_service.utils.filter.FilterCompiler;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plan regression harness: seeds a realistic number of tenders into a PostgreSQL database, runs the filters
+ * the listings generate and asserts on {@code EXPLAIN} output. Runs only when {@code PLAN_TEST_JDBC_URL} is
+ * set, e.g. {@code PLAN_TEST_JDBC_URL=jdbc:postgresql://localhost:5432/postgres mvn test -Dgroups=plan}.
+ * Everything is created in a separate {@code plan_test} schema.
+ */
+@Tag("plan")
+@EnabledIfEnvironmentVariable(named = "PLAN_TEST_JDBC_URL", matches = ".+")
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.hikari.connection-init-sql=CREATE SCHEMA IF NOT EXISTS plan_test; SET search_path TO plan_test",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.tender_service.core.api.database.TenderQueryPlanTests$FirstStatement"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({FilterConfig.class, SchemaScriptRunner.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TenderQueryPlanTests {
+
+    private static final int TENDERS = 50_000;
+    private static final int USERS = 500;
+    private static final int SEQ_SCAN_ROW_LIMIT = 1_000;
+
+    @Autowired
+    private TenderRepository tenderRepo;
+    @Autowired
+    private FilterCompiler<TenderCwk> tenderFilter;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("PLAN_TEST_JDBC_URL"));
+        registry.add("spring.datasource.username",
+                () -> Objects.requireNonNullElse(System.getenv("PLAN_TEST_JDBC_USER"), "postgres"));
+        registry.add("spring.datasource.password",
+                () -> Objects.requireNonNullElse(System.getenv("PLAN_TEST_JDBC_PASSWORD"), ""));
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        jdbc.update("""
+                INSERT INTO users (name, surname, email, username, password)
+                SELECT 'name', 'surname', 'user' || g || '@example.com', 'user' || g, 'password'
+                FROM generate_series(1, ?) g""", USERS);
+        jdbc.update("""
+                INSERT INTO tenders (id, title, organizer_name, budget_amount, create_at, enquiry_period_end,
+                                     tendering_period_end, auction_start, date_deal, user_id, supplier_id,
+                                     tenderer_id, guarantee_bank, delivery_terms_upon_request_boolean, status,
+                                     status_title, qualification_date, id_deal, amount_deal, url_deal,
+                                     next_refresh_at)
+                SELECT g,
+                       (ARRAY['Ремонт дороги', 'Закупівля палива', 'Поточний ремонт школи', 'Постачання обладнання'])[1 + g % 4] || ' ' || g,
+                       'Організатор ' || (g % 5000),
+                       (g * 7919) % 1000000,
+                       TIMESTAMP '2024-01-01' + (g % 730) * INTERVAL '1 day' + (g % 24) * INTERVAL '1 hour',
+                       TIMESTAMP '2024-01-10' + (g % 730) * INTERVAL '1 day',
+                       TIMESTAMP '2024-01-20' + (g % 730) * INTERVAL '1 day' + (g % 13) * INTERVAL '1 hour',
+                       TIMESTAMP '2024-01-25' + (g % 730) * INTERVAL '1 day' + (g % 7) * INTERVAL '1 hour',
+                       TIMESTAMP '2024-02-01' + (g % 730) * INTERVAL '1 day',
+                       1 + g % ?, 1 + (g * 3) % ?, 1 + (g * 7) % ?,
+                       false, false, 'CREATED',
+                       CASE WHEN g % 50 = 0 THEN 'Очікує розгляду' ELSE 'Пропозиції розглянуті' END,
+                       TIMESTAMP '2024-01-30' + (g % 730) * INTERVAL '1 day',
+                       'deal-' || g, g * 10, 'https://example.com/deal/' || g,
+                       TIMESTAMP '2024-01-01' + (g % 1440) * INTERVAL '1 minute'
+                FROM generate_series(1, ?) g""", USERS, USERS, USERS, TENDERS);
+        jdbc.execute("ANALYZE users");
+        jdbc.execute("ANALYZE tenders");
+    }
+
+    static Stream<Arguments> listingQueries() {
+        return Stream.of(
+                Arguments.of("budget range", Map.of("budgetAmount_start", "1000", "budgetAmount_stop", "1500"),
+                        "tenders_budget_amount_idx"),
+                Arguments.of("auction window", Map.of("auctionStart_start", "2024-03-01", "auctionStart_stop", "2024-03-01T12:00:00"),
+                        "tenders_auction_start_idx"),
+                Arguments.of("tendering end window", Map.of("tenderingPeriodEnd_start", "2025-06-01T00:00:00", "tenderingPeriodEnd_stop", "2025-06-01T06:00:00"),
+                        "tenders_tendering_period_end_idx"),
+                Arguments.of("title prefix", Map.of("title", "Ремонт дороги 4444"),
+                        "tenders_title_prefix_idx"),
+                Arguments.of("organizer prefix", Map.of("organizerName", "Організатор 1234"),
+                        "tenders_organizer_name_prefix_idx"),
+                Arguments.of("user filter", Map.of("userId", "7"),
+                        "tenders_user_id_idx")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("listingQueries")
+    void filterUsesIndex(String name, Map<String, String> params, String expectedIndex) throws Exception {
+        assertPlan(tenderFilter.toSpecification(params), expectedIndex);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("roleQueries")
+    void roleListingUsesIndex(String name, Specification<TenderCwk> spec, String expectedIndex) throws Exception {
+        assertPlan(spec, expectedIndex);
+    }
+
+    static Stream<Arguments> roleQueries() {
+        return Stream.of(
+                Arguments.of("supplier role", TenderCwkSpecification.hasSupplierId(11L), "tenders_supplier_id_idx"),
+                Arguments.of("tenderer role", TenderCwkSpecification.hasTendererId(13L), "tenders_tenderer_id_idx")
+        );
+    }
+
+    @Test
+    void dueTendersUsePartialIndex() throws Exception {
+        FirstStatement.clear();
+        tenderRepo.findDueForRefresh(LocalDateTime.of(2024, 1, 1, 0, 10), 10_000, 20_000, Limit.of(500));
+        assertNotNull(FirstStatement.get(), "No statement captured");
+
+        String sql = FirstStatement.get()
+                .replace("id>?", "id>10000")
+                .replace("id<?", "id<20000")
+                .replace("next_refresh_at<=?", "next_refresh_at<=TIMESTAMP '2024-01-01 00:10'")
+                .replace("fetch first ? rows", "fetch first 500 rows");
+        assertExplain(sql, "tenders_refresh_due_id_idx");
+    }
+
+    private void assertPlan(Specification<TenderCwk> spec, String expectedIndex) throws Exception {
+        PageRequest page = PageRequest.of(0, 20, tenderFilter.sort("id", "desc"));
+        FirstStatement.clear();
+        tenderRepo.findPage(spec, page, TenderDTOProjection.INSTANCE);
+        assertNotNull(FirstStatement.get(), "No statement captured");
+
+        // Filter values are inlined by value_handling_mode; only the paging clause is still bound.
+        String sql = FirstStatement.get()
+                .replace("offset ? rows", "offset " + page.getOffset() + " rows")
+                .replace("fetch first ? rows", "fetch first " + page.getPageSize() + " rows");
+        assertExplain(sql, expectedIndex);
+    }
+
+    private void assertExplain(String sql, String expectedIndex) throws Exception {
+        String explain = jdbc.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        List<JsonNode> nodes = new ArrayList<>();
+        collect(objectMapper.readTree(explain).get(0).get("Plan"), nodes);
+
+        for (JsonNode node : nodes) {
+            if ("Seq Scan".equals(node.path("Node Type").asText()) && "tenders".equals(node.path("Relation Name").asText())) {
+                fail("Sequential scan on tenders (" + TENDERS + " rows, limit " + SEQ_SCAN_ROW_LIMIT + "):\n" + sql + "\n" + explain);
+            }
+        }
+        assertTrue(nodes.stream().anyMatch(node -> expectedIndex.equals(node.path("Index Name").asText())),
+                "Expected " + expectedIndex + " in plan:\n" + sql + "\n" + explain);
+    }
+
+    private static void collect(JsonNode plan, List<JsonNode> nodes) {
+        nodes.add(plan);
+        for (JsonNode child : plan.path("Plans")) {
+            collect(child, nodes);
+        }
+    }
+
+    public static class FirstStatement implements StatementInspector {
+
+        private static volatile String first;
+
+        static void clear() {
+            first = null;
+        }
+
+        static String get() {
+            return first;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (first == null) {
+                first = sql;
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tender_service.core.api.database;
+
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.core.api.database.repository.TenderRepository;
+import com.tender_service.core.api.parsing_service.UpstreamTenderMapping;
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Writes a refresh computed from a copy read before the tender was edited, on an embedded database, and
+ * asserts that the edit survives. Every repository call commits on its own, as in the refresh job.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:update_all_test;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "tender.database.schema-scripts.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TenderUpdateAllTests {
+
+    @Autowired
+    private TenderRepository tenderRepo;
+
+    @Test
+    public void testEditsMadeAfterTheReadSurviveTheRefresh() {
+        ParsedTenderDTO imported = new ParsedTenderDTO();
+        imported.setStatusTitle("Період уточнень");
+        tenderRepo.insertAll(List.of(UpstreamTenderMapping.newTender(null, 1L, imported)));
+
+        TenderCwk read = tenderRepo.findById(1L).orElseThrow();
+
+        TenderCwk edited = tenderRepo.findById(1L).orElseThrow();
+        edited.setCommentary("Call the organizer");
+        edited.setCost(1200);
+        edited.setTitle("Edited title");
+        tenderRepo.save(edited);
+
+        ParsedTenderDTO upstream = new ParsedTenderDTO();
+        upstream.setStatusTitle("Завершено");
+        upstream.setTitle("Upstream title");
+        UpstreamTenderMapping.Diff diff = UpstreamTenderMapping.diff(read, upstream);
+        tenderRepo.updateAll(Map.of(1L, current -> {
+            diff.applyTo(current);
+            current.setContentHash(42L);
+        }));
+
+        TenderCwk refreshed = tenderRepo.findById(1L).orElseThrow();
+        assertEquals("Завершено", refreshed.getStatusTitle());
+        assertEquals(42L, refreshed.getContentHash());
+        assertEquals("Call the organizer", refreshed.getCommentary());
+        assertEquals(1200, refreshed.getCost());
+        assertEquals("Edited title", refreshed.getTitle());
+    }
+}
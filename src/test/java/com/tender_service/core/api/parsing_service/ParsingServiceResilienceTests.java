@@ -0,0 +1,249 @@
+package com.tender_service.core.api.parsing_service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import feign.Feign;
+import feign.FeignException;
+import feign.Retryer;
+import feign.hc5.ApacheHttp5Client;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link ParsingService} through a real Feign client on the pooled HttpClient 5 transport against a
+ * local HTTP stub that injects latency and error statuses. Budgets are scaled down but use the same failure classification as production.
+ */
+class ParsingServiceResilienceTests {
+
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends Throwable>[] TRANSIENT = new Class[]{
+            feign.RetryableException.class, FeignException.FeignServerException.class, FeignException.TooManyRequests.class};
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile StubHandler handler;
+
+    private ParsingService parsingService;
+    private CircuitBreakerRegistry circuitBreakers;
+    private BulkheadRegistry bulkheads;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        // Platform threads: on JDK 21 a client blocked in a socket read can pin the only carrier thread.
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                handler.handle(requests.incrementAndGet(), exchange);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+
+        ObjectFactory<HttpMessageConverters> converters =
+                () -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter(new ObjectMapper()));
+        httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create().build())
+                .build();
+        ParsingServiceFeignClient client = Feign.builder()
+                .client(new ApacheHttp5Client(httpClient))
+                .contract(new SpringMvcContract())
+                .decoder(new ResponseEntityDecoder(new TenderModelDecoder(new SpringDecoder(converters))))
+                .retryer(Retryer.NEVER_RETRY)
+                .target(ParsingServiceFeignClient.class, "http://localhost:" + server.getAddress().getPort());
+
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordExceptions(TRANSIENT)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        RetryRegistry retries = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(2)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(Duration.ofMillis(20), 2, 0.5))
+                .retryExceptions(TRANSIENT)
+                .build());
+        bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        parsingService = new ParsingService();
+        ReflectionTestUtils.setField(parsingService, "parsingServiceFeignClient", client);
+        ReflectionTestUtils.setField(parsingService, "upstreamTenderCache", Caffeine.newBuilder().<Long, UpstreamTender>buildAsync());
+        ReflectionTestUtils.setField(parsingService, "circuitBreakerRegistry", circuitBreakers);
+        ReflectionTestUtils.setField(parsingService, "bulkheadRegistry", bulkheads);
+        ReflectionTestUtils.setField(parsingService, "retryRegistry", retries);
+        UpstreamBackoff upstreamBackoff = new UpstreamBackoff();
+        ReflectionTestUtils.setField(upstreamBackoff, "upstreamBackoffCache", Caffeine.newBuilder().<Long, UpstreamBackoff.Entry>build());
+        ReflectionTestUtils.setField(parsingService, "upstreamBackoff", upstreamBackoff);
+        UpstreamRateLimiter upstreamRateLimiter = new UpstreamRateLimiter();
+        ReflectionTestUtils.setField(upstreamRateLimiter, "requestsPerSecond", 0);
+        ReflectionTestUtils.setField(parsingService, "upstreamRateLimiter", upstreamRateLimiter);
+        ReflectionTestUtils.setField(parsingService, "upstreamHedging", new UpstreamHedging());
+        ReflectionTestUtils.setField(parsingService, "interactiveReadTimeout", Duration.ofMillis(300));
+        ReflectionTestUtils.setField(parsingService, "backgroundReadTimeout", Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    @Test
+    public void testReadTimeoutIsRetried() {
+        handler = (request, exchange) -> {
+            if (request == 1) {
+                Thread.sleep(1_000);
+            }
+            reply(exchange, 200, "{\"Title\":\"Ремонт дороги\"}");
+        };
+
+        ParsedTenderDTO parsed = parsingService.getTenderById(1L);
+
+        assertEquals("Ремонт дороги", parsed.getTitle());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testCompressedResponseIsDecoded() {
+        handler = (request, exchange) -> {
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            assertTrue(acceptEncoding != null && acceptEncoding.contains("gzip"));
+            ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+                gzip.write("{\"Title\":\"Ремонт дороги\"}".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, gzipped.size());
+            exchange.getResponseBody().write(gzipped.toByteArray());
+        };
+
+        assertEquals("Ремонт дороги", parsingService.getTenderById(4L).getTitle());
+    }
+
+    @Test
+    public void testInteractiveTimeoutIsShorterThanBackground() {
+        handler = (request, exchange) -> {
+            Thread.sleep(600);
+            reply(exchange, 200, "{}");
+        };
+
+        ParsingServiceException e = assertThrows(ParsingServiceException.class, () -> parsingService.getTenderById(2L));
+        assertInstanceOf(feign.RetryableException.class, e.getCause());
+        assertNotNull(parsingService.getTenderById(3L, UpstreamLane.BACKGROUND));
+    }
+
+    @Test
+    public void testServerErrorsOpenTheCircuit() {
+        handler = (request, exchange) -> reply(exchange, 500, "");
+
+        for (long id = 10; id < 12; id++) {
+            long tenderId = id;
+            assertThrows(ParsingServiceException.class, () -> parsingService.getTenderById(tenderId, UpstreamLane.BACKGROUND));
+        }
+        int seen = requests.get();
+        ParsingServiceException rejected = assertThrows(ParsingServiceException.class,
+                () -> parsingService.getTenderById(12L, UpstreamLane.BACKGROUND));
+
+        assertEquals(4, seen);
+        assertEquals(seen, requests.get());
+        assertInstanceOf(CallNotPermittedException.class, rejected.getCause());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker(UpstreamLane.BACKGROUND.instance()).getState());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker(UpstreamLane.INTERACTIVE.instance()).getState());
+    }
+
+    @Test
+    public void testNotFoundIsNeitherRetriedNorRecorded() {
+        handler = (request, exchange) -> reply(exchange, 404, "");
+
+        assertNull(parsingService.getTenderById(20L));
+
+        assertEquals(1, requests.get());
+        assertEquals(0, circuitBreakers.circuitBreaker(UpstreamLane.INTERACTIVE.instance()).getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    public void testFullBulkheadRejectsInsteadOfQueueing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        handler = (request, exchange) -> {
+            release.await(5, TimeUnit.SECONDS);
+            reply(exchange, 200, "{}");
+        };
+
+        try (ExecutorService callers = Executors.newCachedThreadPool()) {
+            Future<ParsedTenderDTO> holder = callers.submit(() -> parsingService.getTenderById(30L, UpstreamLane.BACKGROUND));
+            while (requests.get() == 0) {
+                Thread.sleep(10);
+            }
+
+            ParsingServiceException e = assertThrows(ParsingServiceException.class,
+                    () -> parsingService.getTenderById(31L, UpstreamLane.BACKGROUND));
+            assertInstanceOf(BulkheadFullException.class, e.getCause());
+            assertEquals(1, bulkheads.bulkhead(UpstreamLane.INTERACTIVE.instance()).getMetrics().getAvailableConcurrentCalls());
+
+            release.countDown();
+            assertNotNull(holder.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void reply(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StubHandler {
+        void handle(int request, HttpExchange exchange) throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,201 @@
+package com.tender_service.core.api.parsing_service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParsingServiceTests {
+
+    @InjectMocks
+    private ParsingService parsingService;
+
+    @Mock
+    private ParsingServiceFeignClient parsingServiceFeignClient;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(parsingService, "upstreamTenderCache",
+                Caffeine.newBuilder().<Long, UpstreamTender>buildAsync());
+        ReflectionTestUtils.setField(parsingService, "circuitBreakerRegistry", CircuitBreakerRegistry.ofDefaults());
+        ReflectionTestUtils.setField(parsingService, "bulkheadRegistry", BulkheadRegistry.ofDefaults());
+        ReflectionTestUtils.setField(parsingService, "retryRegistry",
+                RetryRegistry.of(RetryConfig.custom().maxAttempts(1).build()));
+        UpstreamBackoff upstreamBackoff = new UpstreamBackoff();
+        ReflectionTestUtils.setField(upstreamBackoff, "upstreamBackoffCache",
+                Caffeine.newBuilder().<Long, UpstreamBackoff.Entry>build());
+        ReflectionTestUtils.setField(parsingService, "upstreamBackoff", upstreamBackoff);
+        UpstreamRateLimiter upstreamRateLimiter = new UpstreamRateLimiter();
+        ReflectionTestUtils.setField(upstreamRateLimiter, "requestsPerSecond", 0);
+        ReflectionTestUtils.setField(parsingService, "upstreamRateLimiter", upstreamRateLimiter);
+        ReflectionTestUtils.setField(parsingService, "upstreamHedging", new UpstreamHedging());
+    }
+
+    @Test
+    public void testConcurrentCallersShareOneRequest() throws Exception {
+        ParsedTenderDTO parsed = new ParsedTenderDTO();
+        CountDownLatch release = new CountDownLatch(1);
+        when(parsingServiceFeignClient.getTenderByIdIfChanged(eq(1L), isNull(), isNull(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return ResponseEntity.ok(parsed);
+        });
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ParsedTenderDTO> first = callers.submit(() -> parsingService.getTenderById(1L));
+            Future<ParsedTenderDTO> second = callers.submit(() -> parsingService.getTenderById(1L));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertSame(parsed, first.get(5, TimeUnit.SECONDS));
+            assertSame(parsed, second.get(5, TimeUnit.SECONDS));
+        }
+        verify(parsingServiceFeignClient, times(1)).getTenderByIdIfChanged(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    public void testFailuresAreNotCached() {
+        ParsedTenderDTO parsed = new ParsedTenderDTO();
+        when(parsingServiceFeignClient.getTenderByIdIfChanged(eq(2L), isNull(), isNull(), any()))
+                .thenThrow(new RuntimeException("upstream down"))
+                .thenReturn(ResponseEntity.ok(parsed));
+
+        assertThrows(RuntimeException.class, () -> parsingService.getTenderById(2L));
+        assertSame(parsed, parsingService.getTenderById(2L));
+    }
+
+    @Test
+    public void testNotFoundIsRemembered() {
+        Request request = Request.create(Request.HttpMethod.GET, "/uk/PurchaseDetail/GetTenderModel/", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+        when(parsingServiceFeignClient.getTenderByIdIfChanged(eq(5L), isNull(), isNull(), any()))
+                .thenThrow(FeignException.errorStatus("getTenderByIdIfChanged",
+                        feign.Response.builder().status(404).request(request).headers(Map.of()).build()));
+
+        assertNull(parsingService.getTenderById(5L));
+        assertNull(parsingService.getTenderById(5L));
+        assertNull(parsingService.getTenderIfChanged(5L, null, null).tender());
+        verify(parsingServiceFeignClient, times(1)).getTenderByIdIfChanged(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    public void testNotFoundIsRetriedOnceItsBackoffLapses() throws Exception {
+        Request request = Request.create(Request.HttpMethod.GET, "/uk/PurchaseDetail/GetTenderModel/", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+        UpstreamBackoff upstreamBackoff = (UpstreamBackoff) ReflectionTestUtils.getField(parsingService, "upstreamBackoff");
+        ReflectionTestUtils.setField(upstreamBackoff, "notFoundTtl", Duration.ofMillis(50));
+        ParsedTenderDTO parsed = new ParsedTenderDTO();
+        when(parsingServiceFeignClient.getTenderByIdIfChanged(eq(9L), isNull(), isNull(), any()))
+                .thenThrow(FeignException.errorStatus("getTenderByIdIfChanged",
+                        feign.Response.builder().status(404).request(request).headers(Map.of()).build()))
+                .thenReturn(ResponseEntity.ok(parsed));
+
+        assertNull(parsingService.getTenderIfChanged(9L, null, null).tender());
+        assertNull(parsingService.getTenderIfChanged(9L, null, null).tender());
+        Thread.sleep(100);
+
+        assertSame(parsed, parsingService.getTenderIfChanged(9L, null, null).tender());
+        verify(parsingServiceFeignClient, times(2)).getTenderByIdIfChanged(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    public void testPersistentFailuresBackOffUntilCleared() {
+        ParsedTenderDTO parsed = new ParsedTenderDTO();
+        when(parsingServiceFeignClient.getTenderByIdIfChanged(eq(6L), isNull(), isNull(), any()))
+                .thenThrow(new RuntimeException("broken tender"));
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            assertThrows(RuntimeException.class, () -> parsingService.getTenderById(6L));
+        }
+        ParsingServiceException backedOff = assertThrows(ParsingServiceException.class, () -> parsingService.getTenderById(6L));
+        assertTrue(backedOff.getMessage().contains("backed off"));
+        verify(parsingServiceFeignClient, times(3)).getTenderByIdIfChanged(anyLong(), any(), any(), any());
+
+        UpstreamBackoff upstreamBackoff = (UpstreamBackoff) ReflectionTestUtils.getField(parsingService, "upstreamBackoff");
+        assertEquals(3, upstreamBackoff.entries().getFirst().failures());
+        assertTrue(upstreamBackoff.clear(6L));
+        reset(parsingServiceFeignClient);
+        when(parsingServiceFeignClient.getTenderByIdIfChanged(eq(6L), isNull(), isNull(), any()))
+                .thenReturn(ResponseEntity.ok(parsed));
+        assertSame(parsed, parsingService.getTenderById(6L));
+        assertTrue(upstreamBackoff.entries().isEmpty());
+    }
+
+    @Test
+    public void testRateLimitRejectionIsNotHeldAgainstTheId() {
+        UpstreamRateLimiter upstreamRateLimiter = new UpstreamRateLimiter();
+        ReflectionTestUtils.setField(upstreamRateLimiter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(upstreamRateLimiter, "requestsPerSecond", 1);
+        ReflectionTestUtils.setField(upstreamRateLimiter, "burst", 1);
+        ReflectionTestUtils.setField(upstreamRateLimiter, "interactiveMaxWait", Duration.ZERO);
+        ReflectionTestUtils.setField(parsingService, "upstreamRateLimiter", upstreamRateLimiter);
+        when(parsingServiceFeignClient.getTenderByIdIfChanged(anyLong(), isNull(), isNull(), any()))
+                .thenReturn(ResponseEntity.ok(new ParsedTenderDTO()));
+
+        assertNotNull(parsingService.getTenderById(7L));
+        ParsingServiceException rejected = assertThrows(ParsingServiceException.class, () -> parsingService.getTenderById(8L));
+
+        assertInstanceOf(UpstreamRateLimiter.Rejected.class, rejected.getCause());
+        verify(parsingServiceFeignClient, times(1)).getTenderByIdIfChanged(anyLong(), any(), any(), any());
+        UpstreamBackoff upstreamBackoff = (UpstreamBackoff) ReflectionTestUtils.getField(parsingService, "upstreamBackoff");
+        assertTrue(upstreamBackoff.entries().isEmpty());
+    }
+
+    @Test
+    public void testConditionalFetchReportsNotModifiedFor304() {
+        Request request = Request.create(Request.HttpMethod.GET, "/uk/PurchaseDetail/GetTenderModel/", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+        when(parsingServiceFeignClient.getTenderByIdIfChanged(eq(3L), eq("\"v1\""), isNull(), any()))
+                .thenThrow(FeignException.errorStatus("getTenderByIdIfChanged",
+                        feign.Response.builder().status(304).request(request).headers(Map.of()).build()));
+
+        UpstreamTender result = parsingService.getTenderIfChanged(3L, "\"v1\"", null);
+
+        assertTrue(result.notModified());
+        assertEquals("\"v1\"", result.etag());
+    }
+
+    @Test
+    public void testConditionalFetchIsServedFromCache() {
+        ParsedTenderDTO parsed = new ParsedTenderDTO();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v2\"");
+        when(parsingServiceFeignClient.getTenderByIdIfChanged(eq(4L), isNull(), isNull(), any()))
+                .thenReturn(ResponseEntity.ok().headers(headers).body(parsed));
+
+        parsingService.getTenderById(4L);
+
+        assertSame(parsed, parsingService.getTenderIfChanged(4L, "\"v1\"", null).tender());
+        assertTrue(parsingService.getTenderIfChanged(4L, "\"v2\"", null).notModified());
+        verify(parsingServiceFeignClient, times(1)).getTenderByIdIfChanged(anyLong(), any(), any(), any());
+    }
+}
@@ -0,0 +1,117 @@
+package com.tender_service.core.api.parsing_service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tender_service.core.api.parsing_service.models.Contracts;
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenderModelReaderTests {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    public void testReadsWhatDataBindingReadsForUsedFields() throws IOException {
+        ParsedTenderDTO bound;
+        ParsedTenderDTO streamed;
+        try (InputStream in = fixture()) {
+            bound = objectMapper.readValue(in, ParsedTenderDTO.class);
+        }
+        try (InputStream in = fixture()) {
+            streamed = TenderModelReader.read(in);
+        }
+
+        assertEquals(bound.getProzorroNumber(), streamed.getProzorroNumber());
+        assertEquals(bound.getProcedureType(), streamed.getProcedureType());
+        assertEquals(bound.getTitle(), streamed.getTitle());
+        assertEquals(bound.getStatusTitle(), streamed.getStatusTitle());
+        assertEquals(bound.getParticipationCost(), streamed.getParticipationCost());
+        assertEquals(bound.getOrganizer(), streamed.getOrganizer());
+        assertEquals(bound.getCategory(), streamed.getCategory());
+        assertEquals(bound.getBudget(), streamed.getBudget());
+        assertEquals(bound.getImportantDates(), streamed.getImportantDates());
+        assertEquals(bound.getGuarantee(), streamed.getGuarantee());
+        assertEquals(bound.getPaymentTerms().getFirst(), streamed.getPaymentTerms().getFirst());
+        assertEquals(bound.getNomenclaturesList().getFirst(), streamed.getNomenclaturesList().getFirst());
+        assertEquals(bound.getNomenclaturesList().size(), streamed.getNomenclaturesList().size());
+        for (int i = 0; i < bound.getNomenclaturesList().size(); i++) {
+            assertEquals(bound.getNomenclaturesList().get(i).getTitle(), streamed.getNomenclaturesList().get(i).getTitle());
+            assertEquals(bound.getNomenclaturesList().get(i).getCount(), streamed.getNomenclaturesList().get(i).getCount());
+        }
+        assertEquals(bound.getAwards().getFirst().getComplaintPeriodStart(), streamed.getAwards().getFirst().getComplaintPeriodStart());
+        assertEquals(bound.getParticipantContracts().getFirst().getParticipantTitle(),
+                streamed.getParticipantContracts().getFirst().getParticipantTitle());
+        Contracts boundContract = bound.getParticipantContracts().getFirst().getContracts().getFirst();
+        Contracts streamedContract = streamed.getParticipantContracts().getFirst().getContracts().getFirst();
+        assertEquals(boundContract.getStatus(), streamedContract.getStatus());
+        assertEquals(boundContract.getAmount(), streamedContract.getAmount());
+        assertEquals(boundContract.getDocuments().getFirst(), streamedContract.getDocuments().getFirst());
+    }
+
+    @Test
+    public void testKeepsOnlyFirstElementOfListsReadByFirstElement() throws IOException {
+        ParsedTenderDTO tender = read("""
+                {"Awards":[{"ComplaintPeriodStart":"2025-03-21T09:00:00","Status":"Переможець"},{"ComplaintPeriodStart":"2025-04-01T09:00:00"}],
+                 "PaymentTerms":[{"Days":30},{"Days":60}],
+                 "ParticipantContracts":[{"ParticipantTitle":"ТОВ А","Contracts":[{"Amount":5,"Documents":[{"Id":1},{"Id":2},{"Id":3}]},{"Amount":6}]},
+                                         {"ParticipantTitle":"ТОВ Б"}],
+                 "Nomenclatures":[{"Title":"a","Count":"1","DeliveryAddress":"Київ"},{"Title":"b","Count":"2","DeliveryAddress":"Львів"}]}
+                """);
+
+        assertEquals(1, tender.getAwards().size());
+        assertEquals(LocalDateTime.of(2025, 3, 21, 9, 0), tender.getAwards().getFirst().getComplaintPeriodStart());
+        assertNull(tender.getAwards().getFirst().getStatus());
+        assertEquals(1, tender.getPaymentTerms().size());
+        assertEquals(30, tender.getPaymentTerms().getFirst().getDays());
+        assertEquals(1, tender.getParticipantContracts().size());
+        assertEquals(1, tender.getParticipantContracts().getFirst().getContracts().size());
+        assertEquals(1, tender.getParticipantContracts().getFirst().getContracts().getFirst().getDocuments().size());
+        assertEquals(2, tender.getNomenclaturesList().size());
+        assertEquals("Київ", tender.getNomenclaturesList().getFirst().getDeliveryAdress());
+        assertNull(tender.getNomenclaturesList().get(1).getDeliveryAdress());
+        assertEquals("b", tender.getNomenclaturesList().get(1).getTitle());
+    }
+
+    @Test
+    public void testSkipsUnknownSubtreesAndCoercesScalars() throws IOException {
+        ParsedTenderDTO tender = read("""
+                {"Criteria":[{"RequirementGroups":[{"Requirements":[{"Title":"x"}]}]}],"Title":"Ремонт",
+                 "ParticipationCostAmount":"17000","Budget":{"Amount":"12.5","WithVat":"true","CurrencyId":1},
+                 "Awards":[],"Organizer":null,"Nomenclatures":[{"Title":"a","Count":5}],"Documents":[{"Title":"Title"}]}
+                """);
+
+        assertEquals("Ремонт", tender.getTitle());
+        assertEquals(17000L, tender.getParticipationCost());
+        assertEquals(12.5, tender.getBudget().getAmount());
+        assertTrue(tender.getBudget().isWithVat());
+        assertEquals(1, tender.getBudget().getCurrencyId());
+        assertTrue(tender.getAwards().isEmpty());
+        assertNull(tender.getOrganizer());
+        assertNull(tender.getParticipantContracts());
+        assertEquals("5", tender.getNomenclaturesList().getFirst().getCount());
+    }
+
+    @Test
+    public void testEmptyBodyIsNullAndNonObjectIsRejected() throws IOException {
+        assertNull(read(""));
+        assertNull(read("null"));
+        assertThrows(IOException.class, () -> read("[1]"));
+        assertThrows(IOException.class, () -> read("{\"Awards\":{}}"));
+    }
+
+    private static ParsedTenderDTO read(String json) throws IOException {
+        return TenderModelReader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private InputStream fixture() {
+        return getClass().getResourceAsStream("/fixtures/tender-model.json");
+    }
+}
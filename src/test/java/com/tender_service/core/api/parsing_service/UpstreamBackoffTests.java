@@ -0,0 +1,55 @@
+package com.tender_service.core.api.parsing_service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamBackoffTests {
+
+    private UpstreamBackoff upstreamBackoff;
+
+    @BeforeEach
+    public void setUp() {
+        upstreamBackoff = new UpstreamBackoff();
+        ReflectionTestUtils.setField(upstreamBackoff, "upstreamBackoffCache",
+                Caffeine.newBuilder().<Long, UpstreamBackoff.Entry>build());
+    }
+
+    @Test
+    public void testDelayDoublesUpToMax() {
+        assertEquals(Duration.ofMinutes(1), upstreamBackoff.delay(1));
+        assertEquals(Duration.ofMinutes(2), upstreamBackoff.delay(2));
+        assertEquals(Duration.ofMinutes(256), upstreamBackoff.delay(9));
+        assertEquals(Duration.ofHours(6), upstreamBackoff.delay(10));
+        assertEquals(Duration.ofHours(6), upstreamBackoff.delay(200));
+    }
+
+    @Test
+    public void testBlocksOnlyAfterThresholdAndSuccessClears() {
+        RuntimeException failure = new RuntimeException("boom");
+        upstreamBackoff.failed(1L, failure);
+        upstreamBackoff.failed(1L, failure);
+        assertNull(upstreamBackoff.blocking(1L));
+
+        upstreamBackoff.failed(1L, failure);
+        UpstreamBackoff.Entry entry = upstreamBackoff.blocking(1L);
+        assertNotNull(entry);
+        assertEquals(UpstreamBackoff.Reason.FAILING, entry.reason());
+        assertTrue(entry.retryAt().isAfter(LocalDateTime.now().plusSeconds(50)));
+        assertEquals("RuntimeException: boom", entry.lastError());
+
+        upstreamBackoff.succeeded(1L);
+        assertNull(upstreamBackoff.blocking(1L));
+
+        upstreamBackoff.notFound(2L);
+        assertEquals(UpstreamBackoff.Reason.NOT_FOUND, upstreamBackoff.blocking(2L).reason());
+        upstreamBackoff.clearAll();
+        assertTrue(upstreamBackoff.entries().isEmpty());
+    }
+}
@@ -0,0 +1,125 @@
+package com.tender_service.core.api.parsing_service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamHedgingTests {
+
+    private UpstreamHedging upstreamHedging;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamHedging = new UpstreamHedging();
+        ReflectionTestUtils.setField(upstreamHedging, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(upstreamHedging, "enabled", true);
+        ReflectionTestUtils.setField(upstreamHedging, "minSamples", 5);
+        ReflectionTestUtils.setField(upstreamHedging, "minDelay", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(upstreamHedging, "budgetRatio", 1.0);
+
+        assertNull(upstreamHedging.hedgeDelay());
+        for (int call = 0; call < 5; call++) {
+            upstreamHedging.call(() -> "warm", () -> "hedge", () -> true);
+        }
+        assertEquals(Duration.ofMillis(20), upstreamHedging.hedgeDelay());
+    }
+
+    @Test
+    public void testSlowPrimaryIsHedgedAndHedgeWins() throws Exception {
+        CountDownLatch stuck = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        String result = upstreamHedging.call(() -> {
+            await(stuck);
+            return "primary";
+        }, () -> "hedge", () -> true);
+        stuck.countDown();
+
+        assertEquals("hedge", result);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, meterRegistry.counter("tender.api.hedge", "outcome", "sent").count());
+        assertEquals(1, meterRegistry.counter("tender.api.hedge", "outcome", "won").count());
+
+        // The primary's latency is recorded once it answers; the hedge's is not.
+        ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(upstreamHedging, "executor");
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(6, ((AtomicLong) ReflectionTestUtils.getField(upstreamHedging, "recorded")).get());
+    }
+
+    @Test
+    public void testFailedPrimaryIsCoveredByHedge() {
+        for (int call = 0; call < 20; call++) {
+            CountDownLatch hedgeStarted = new CountDownLatch(1);
+            CountDownLatch primaryFailed = new CountDownLatch(1);
+
+            String result = upstreamHedging.call(() -> {
+                await(hedgeStarted);
+                primaryFailed.countDown();
+                throw new IllegalStateException("primary");
+            }, () -> {
+                hedgeStarted.countDown();
+                await(primaryFailed);
+                return "hedge";
+            }, () -> true);
+
+            assertEquals("hedge", result);
+        }
+    }
+
+    @Test
+    public void testVetoedHedgeWaitsForPrimary() {
+        CountDownLatch vetoed = new CountDownLatch(1);
+        AtomicBoolean hedged = new AtomicBoolean();
+
+        String result = upstreamHedging.call(() -> {
+            await(vetoed);
+            return "primary";
+        }, () -> {
+            hedged.set(true);
+            return "hedge";
+        }, () -> {
+            vetoed.countDown();
+            return false;
+        });
+
+        assertEquals("primary", result);
+        assertFalse(hedged.get());
+        assertEquals(1, meterRegistry.counter("tender.api.hedge", "outcome", "denied").count());
+    }
+
+    @Test
+    public void testBothFailingSurfacesPrimaryError() {
+        CountDownLatch hedgeFailing = new CountDownLatch(1);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> upstreamHedging.call(() -> {
+            await(hedgeFailing);
+            throw new IllegalStateException("primary");
+        }, () -> {
+            hedgeFailing.countDown();
+            throw new IllegalArgumentException("hedge");
+        }, () -> true));
+
+        assertEquals("primary", error.getMessage());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
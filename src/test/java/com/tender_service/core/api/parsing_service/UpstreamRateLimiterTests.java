@@ -0,0 +1,62 @@
+package com.tender_service.core.api.parsing_service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamRateLimiterTests {
+
+    private UpstreamRateLimiter upstreamRateLimiter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamRateLimiter = new UpstreamRateLimiter();
+        ReflectionTestUtils.setField(upstreamRateLimiter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(upstreamRateLimiter, "requestsPerSecond", 20);
+        ReflectionTestUtils.setField(upstreamRateLimiter, "burst", 4);
+        ReflectionTestUtils.setField(upstreamRateLimiter, "bulkHeadroom", 1);
+        ReflectionTestUtils.setField(upstreamRateLimiter, "backgroundHeadroom", 2);
+        ReflectionTestUtils.setField(upstreamRateLimiter, "backgroundMaxWait", Duration.ZERO);
+    }
+
+    @Test
+    public void testBurstThenOneCallPerInterval() {
+        long start = System.nanoTime();
+        for (int call = 0; call < 4; call++) {
+            upstreamRateLimiter.acquire(UpstreamLane.INTERACTIVE);
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(40), "The burst should not wait");
+
+        upstreamRateLimiter.acquire(UpstreamLane.INTERACTIVE);
+        upstreamRateLimiter.acquire(UpstreamLane.INTERACTIVE);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90), "Calls past the burst are paced");
+        assertEquals(6, meterRegistry.timer("tender.api.rate-limit.wait", "lane", "INTERACTIVE").count());
+    }
+
+    @Test
+    public void testLowerLanesLeaveHeadroomForHigherOnes() {
+        ReflectionTestUtils.setField(upstreamRateLimiter, "requestsPerSecond", 0.5);
+        upstreamRateLimiter.acquire(UpstreamLane.BACKGROUND);
+        upstreamRateLimiter.acquire(UpstreamLane.BACKGROUND);
+        assertThrows(UpstreamRateLimiter.Rejected.class, () -> upstreamRateLimiter.acquire(UpstreamLane.BACKGROUND));
+
+        upstreamRateLimiter.acquire(UpstreamLane.BULK);
+        assertThrows(UpstreamRateLimiter.Rejected.class, () -> upstreamRateLimiter.acquire(UpstreamLane.BULK));
+
+        long start = System.nanoTime();
+        upstreamRateLimiter.acquire(UpstreamLane.INTERACTIVE);
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(40), "Interactive takes the last token at once");
+        assertTrue(upstreamRateLimiter.availableTokens() < 1);
+
+        assertEquals(1, meterRegistry.counter("tender.api.rate-limit.rejected", "lane", "BACKGROUND").count());
+        assertEquals(1, meterRegistry.counter("tender.api.rate-limit.rejected", "lane", "BULK").count());
+    }
+}
@@ -0,0 +1,154 @@
+package com.tender_service.core.api.parsing_service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tender_service.core.api.database.entity.Participant;
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.core.api.database.entity.UserCwk;
+import com.tender_service.core.api.parsing_service.models.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamTenderMappingTests {
+
+    @Test
+    public void testNewTenderMapsUpstreamFieldsAndItems() {
+        UserCwk user = new UserCwk();
+        TenderCwk tender = UpstreamTenderMapping.newTender(user, 42L, parsed("Підписаний"));
+
+        assertEquals(42L, tender.getId());
+        assertTrue(tender.isNew());
+        assertSame(user, tender.getUser());
+        assertNotNull(tender.getNextRefreshAt());
+        assertEquals("Ремонт дороги", tender.getTitle());
+        assertEquals("Міська рада", tender.getOrganizerName());
+        assertEquals(1_250_000.0, tender.getBudgetAmount());
+        assertTrue(tender.getWithVat());
+        assertEquals("Київ", tender.getDeliveryAddress());
+        assertEquals(LocalDate.of(2025, 12, 31), tender.getDeliveryPeriodTo());
+        assertEquals(LocalDateTime.of(2025, 3, 17, 12, 0), tender.getAuctionStart());
+        assertEquals(LocalDateTime.of(2025, 3, 25, 9, 0), tender.getQualificationDate());
+        assertEquals("9001", tender.getIdDeal());
+        assertEquals(LocalDateTime.of(2025, 3, 28, 10, 0), tender.getDateDeal());
+        assertEquals(1_100_000L, tender.getAmountDeal());
+        assertEquals(2, tender.getItems().size());
+        assertSame(tender, tender.getItems().getFirst().getTender());
+        assertEquals("Асфальт", tender.getItems().getFirst().getTitle());
+    }
+
+    @Test
+    public void testRequestBodyCannotMarkTenderNew() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        TenderCwk patch = objectMapper.readValue("{\"id\": 42, \"newTender\": true, \"new\": true}", TenderCwk.class);
+
+        assertEquals(42L, patch.getId());
+        assertFalse(patch.isNew());
+    }
+
+    @Test
+    public void testUnsignedContractIsNotADeal() {
+        TenderCwk tender = UpstreamTenderMapping.newTender(new UserCwk(), 1L, parsed("Очікує підписання"));
+
+        assertNull(tender.getIdDeal());
+        assertNull(tender.getAmountDeal());
+        assertNull(tender.getUrlDeal());
+    }
+
+    @Test
+    public void testDiffFollowsUpstreamForAlwaysAndKeepsEditedValues() {
+        ParsedTenderDTO parsed = parsed("Підписаний");
+        TenderCwk stored = UpstreamTenderMapping.newTender(new UserCwk(), 1L, parsed);
+        stored.setTitle("Ремонт дороги (уточнено)");
+        stored.setAuctionStart(null);
+        parsed.setStatusTitle("Завершено");
+
+        UpstreamTenderMapping.Diff diff = UpstreamTenderMapping.diff(stored, parsed);
+        diff.applyTo(stored);
+
+        assertEquals("statusTitle,auctionStart", diff.fieldNames());
+        assertEquals("Кваліфікація", diff.changes().getFirst().before());
+        assertEquals("Завершено", stored.getStatusTitle());
+        assertEquals(LocalDateTime.of(2025, 3, 17, 12, 0), stored.getAuctionStart());
+        assertEquals("Ремонт дороги (уточнено)", stored.getTitle());
+        assertTrue(UpstreamTenderMapping.diff(stored, parsed).isEmpty());
+    }
+
+    @Test
+    public void testDealMustBelongToAssignedParticipant() {
+        TenderCwk stored = new TenderCwk();
+        Participant participant = new Participant();
+        participant.setName("Інша компанія");
+        stored.setParticipant(participant);
+
+        assertFalse(UpstreamTenderMapping.diff(stored, parsed("Підписаний")).fieldNames().contains("idDeal"));
+
+        participant.setName("Автодор");
+        assertTrue(UpstreamTenderMapping.diff(stored, parsed("Підписаний")).fieldNames().contains("idDeal"));
+    }
+
+    @Test
+    public void testMissingAndUnparseableValuesChangeNothing() {
+        ParsedTenderDTO parsed = new ParsedTenderDTO();
+        ImportantDates dates = new ImportantDates();
+        dates.setAuctionStart("завтра");
+        parsed.setImportantDates(dates);
+        TenderCwk stored = new TenderCwk();
+        stored.setStatusTitle("Кваліфікація");
+
+        assertTrue(UpstreamTenderMapping.diff(stored, parsed).isEmpty());
+        assertEquals("Кваліфікація", stored.getStatusTitle());
+    }
+
+    private static ParsedTenderDTO parsed(String contractStatus) {
+        ParsedTenderDTO parsed = new ParsedTenderDTO();
+        parsed.setTitle("Ремонт дороги");
+        parsed.setStatusTitle("Кваліфікація");
+
+        Organizer organizer = new Organizer();
+        organizer.setName("Міська рада");
+        parsed.setOrganizer(organizer);
+
+        Budget budget = new Budget();
+        budget.setAmount(1_250_000.0);
+        budget.setWithVat(true);
+        parsed.setBudget(budget);
+
+        ImportantDates dates = new ImportantDates();
+        dates.setAuctionStart("17.03.2025 12:00");
+        parsed.setImportantDates(dates);
+
+        Nomenclatures asphalt = new Nomenclatures();
+        asphalt.setTitle("Асфальт");
+        asphalt.setCount("100");
+        asphalt.setDeliveryAdress("Київ");
+        asphalt.setDeliveryPeriodTo("31.12.2025");
+        Nomenclatures curbs = new Nomenclatures();
+        curbs.setTitle("Бордюри");
+        parsed.setNomenclaturesList(List.of(asphalt, curbs));
+
+        Awards award = new Awards();
+        award.setComplaintPeriodStart(LocalDateTime.of(2025, 3, 21, 9, 0));
+        parsed.setAwards(List.of(award));
+
+        Documents document = new Documents();
+        document.setId(9001L);
+        document.setDateModified("28.03.2025 10:00");
+        document.setViewUrl("https://example.com/contract/9001");
+        Status status = new Status();
+        status.setTitle(contractStatus);
+        Contracts contract = new Contracts();
+        contract.setStatus(status);
+        contract.setAmount(1_100_000L);
+        contract.setDocuments(List.of(document));
+        ParticipantContracts participantContracts = new ParticipantContracts();
+        participantContracts.setParticipantTitle("ТОВ \"Автодор\"");
+        participantContracts.setContracts(List.of(contract));
+        parsed.setParticipantContracts(List.of(participantContracts));
+        return parsed;
+    }
+}
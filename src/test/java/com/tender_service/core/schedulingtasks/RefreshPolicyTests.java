@@ -0,0 +1,88 @@
+package com.tender_service.core.schedulingtasks;
+
+import com.tender_service.core.api.database.entity.TenderCwk;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RefreshPolicyTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+    private final RefreshPolicy refreshPolicy = new RefreshPolicy();
+
+    @Test
+    public void testImminentAuctionIsHot() {
+        TenderCwk tender = new TenderCwk();
+        tender.setAuctionStart(NOW.plusHours(3));
+
+        assertEquals(RefreshPolicy.Tier.HOT, refreshPolicy.tierOf(tender, NOW));
+        assertEquals(NOW.plusMinutes(5), refreshPolicy.nextRefreshAt(tender, NOW));
+    }
+
+    @Test
+    public void testClosingTenderingPeriodIsHot() {
+        TenderCwk tender = new TenderCwk();
+        tender.setTenderingPeriodEnd(NOW.plusHours(20));
+
+        assertEquals(RefreshPolicy.Tier.HOT, refreshPolicy.tierOf(tender, NOW));
+    }
+
+    @Test
+    public void testUpcomingWeekAndQualificationWindowAreWarm() {
+        TenderCwk upcoming = new TenderCwk();
+        upcoming.setEnquiryPeriodEnd(NOW.plusDays(4));
+        TenderCwk qualifying = new TenderCwk();
+        qualifying.setQualificationDate(NOW.minusDays(2));
+
+        assertEquals(RefreshPolicy.Tier.WARM, refreshPolicy.tierOf(upcoming, NOW));
+        assertEquals(RefreshPolicy.Tier.WARM, refreshPolicy.tierOf(qualifying, NOW));
+    }
+
+    @Test
+    public void testRecentlyQualifiedWithoutContractIsDaily() {
+        TenderCwk tender = new TenderCwk();
+        tender.setAuctionStart(NOW.minusDays(20));
+        tender.setQualificationDate(NOW.minusDays(10));
+
+        assertEquals(RefreshPolicy.Tier.DAILY, refreshPolicy.tierOf(tender, NOW));
+        assertEquals(Duration.ofDays(1), refreshPolicy.interval(RefreshPolicy.Tier.DAILY));
+    }
+
+    @Test
+    public void testLongWaitingTenderIsDormant() {
+        TenderCwk tender = new TenderCwk();
+        tender.setAuctionStart(NOW.minusMonths(4));
+        tender.setQualificationDate(NOW.minusMonths(3));
+
+        assertEquals(RefreshPolicy.Tier.DORMANT, refreshPolicy.tierOf(tender, NOW));
+        assertEquals(NOW.plusDays(7), refreshPolicy.nextRefreshAt(tender, NOW));
+    }
+
+    @Test
+    public void testSettledTenderIsNotRescheduled() {
+        TenderCwk tender = new TenderCwk();
+        tender.setStatusTitle("Пропозиції розглянуті");
+        tender.setAuctionStart(NOW.minusDays(30));
+        tender.setQualificationDate(NOW.minusDays(20));
+        tender.setIdDeal("1");
+        tender.setDateDeal(NOW.minusDays(5));
+        tender.setAmountDeal(100L);
+        tender.setUrlDeal("https://example.com/deal/1");
+
+        assertNull(refreshPolicy.nextRefreshAt(tender, NOW));
+    }
+
+    @Test
+    public void testRetryDelayGrowsWithFailuresUpToCap() {
+        assertEquals(Duration.ofMinutes(5), refreshPolicy.retryDelay(0));
+        assertEquals(Duration.ofMinutes(5), refreshPolicy.retryDelay(1));
+        assertEquals(Duration.ofMinutes(20), refreshPolicy.retryDelay(3));
+        assertEquals(Duration.ofHours(2), refreshPolicy.retryDelay(10));
+        assertEquals(Duration.ofHours(2), refreshPolicy.retryDelay(100));
+    }
+}
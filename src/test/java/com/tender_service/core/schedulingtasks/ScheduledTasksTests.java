@@ -1,22 +1,44 @@
 package com.tender_service.core.schedulingtasks;
 
+import com.tender_service.core.api.database.entity.Participant;
+import com.tender_service.core.api.database.entity.RefreshShard;
 import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.core.api.database.repository.RefreshShardRepository;
 import com.tender_service.core.api.database.repository.TenderRepository;
 import com.tender_service.core.api.parsing_service.ParsingService;
+import com.tender_service.core.api.parsing_service.TenderFingerprint;
+import com.tender_service.core.api.parsing_service.UpstreamBackoff;
+import com.tender_service.core.api.parsing_service.UpstreamTender;
 import com.tender_service.core.api.parsing_service.models.ImportantDates;
 import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,11 +53,29 @@ class ScheduledTasksTests {
     @Mock
     private TenderRepository tenderRepository;
 
+    @Mock
+    private RefreshShardRepository refreshShardRepository;
+
+    @Mock
+    private UpstreamBackoff upstreamBackoff;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private RefreshPolicy refreshPolicy = new RefreshPolicy();
+
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
 
+    private final RefreshShard shard = new RefreshShard();
+
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        shard.setShardNo(1);
+        lenient().when(refreshShardRepository.claim(any(), any(), any(), any())).thenReturn(Optional.of(shard), Optional.empty());
+        lenient().when(refreshShardRepository.checkpoint(any(), any(), any(), any())).thenReturn(1);
+        lenient().when(refreshShardRepository.complete(any(), any(), any())).thenReturn(1);
     }
 
     @Test
@@ -52,13 +92,13 @@ class ScheduledTasksTests {
         datesDTO.setAuctionStart("01.01.2025 14:00");
         parsedDTO.setImportantDates(datesDTO);
 
-        when(tenderRepository.findAll()).thenReturn(List.of(tender));
-        when(parsingService.getTenderById(1L)).thenReturn(parsedDTO);
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(tender));
+        when(parsingService.getTenderIfChanged(eq(1L), any(), any())).thenReturn(UpstreamTender.modified(parsedDTO, null, null));
 
         scheduledTasks.updateTender();
 
-        verify(parsingService, times(1)).getTenderById(1L);
-        verify(tenderRepository, times(1)).save(tender);
+        verify(parsingService, times(1)).getTenderIfChanged(eq(1L), any(), any());
+        verify(tenderRepository, times(1)).updateAll(updatesOf(tender));
 
         assert tender.getStatusTitle().equals("Завершено");
         assert tender.getAuctionStart().equals(LocalDateTime.parse("01.01.2025 14:00", formatter));
@@ -76,13 +116,13 @@ class ScheduledTasksTests {
         datesDTO.setAuctionStart("05.05.2025 12:30");
         parsedDTO.setImportantDates(datesDTO);
 
-        when(tenderRepository.findAll()).thenReturn(List.of(tender));
-        when(parsingService.getTenderById(3L)).thenReturn(parsedDTO);
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(tender));
+        when(parsingService.getTenderIfChanged(eq(3L), any(), any())).thenReturn(UpstreamTender.modified(parsedDTO, null, null));
 
         scheduledTasks.updateTender();
 
-        verify(parsingService, times(1)).getTenderById(3L);
-        verify(tenderRepository, times(1)).save(tender);
+        verify(parsingService, times(1)).getTenderIfChanged(eq(3L), any(), any());
+        verify(tenderRepository, times(1)).updateAll(updatesOf(tender));
 
         assert tender.getAuctionStart().equals(LocalDateTime.parse("05.05.2025 12:30", formatter));
     }
@@ -99,12 +139,312 @@ class ScheduledTasksTests {
         tender.setAmountDeal(20000L);
         tender.setUrlDeal("http://existing-contract");
 
-        when(tenderRepository.findAll()).thenReturn(List.of(tender));
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of());
+
+        scheduledTasks.updateTender();
+
+        verify(parsingService, never()).getTenderIfChanged(anyLong(), any(), any());
+        verify(tenderRepository, never()).updateAll(any());
+    }
+
+    @Test
+    public void testUnchangedFingerprintSkipsWrite() throws InterruptedException {
+        ParsedTenderDTO parsedDTO = new ParsedTenderDTO();
+        parsedDTO.setStatusTitle("Завершено");
+        parsedDTO.setImportantDates(new ImportantDates());
+
+        TenderCwk tender = new TenderCwk();
+        tender.setId(4L);
+        tender.setContentHash(TenderFingerprint.of(parsedDTO, tender));
+
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(tender));
+        when(parsingService.getTenderIfChanged(eq(4L), any(), any())).thenReturn(UpstreamTender.modified(parsedDTO, null, null));
+
+        scheduledTasks.updateTender();
+
+        verify(tenderRepository, never()).updateAll(any());
+        assertNull(tender.getStatusTitle());
+    }
+
+    @Test
+    public void testFieldClearedSinceLastRefreshIsFilledAgain() throws InterruptedException {
+        ParsedTenderDTO parsedDTO = new ParsedTenderDTO();
+        parsedDTO.setTitle("Upstream title");
+
+        TenderCwk tender = new TenderCwk();
+        tender.setId(6L);
+        tender.setTitle("Upstream title");
+        tender.setContentHash(TenderFingerprint.of(parsedDTO, tender));
+        tender.setTitle(null);
+
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(tender));
+        when(parsingService.getTenderIfChanged(eq(6L), any(), any())).thenReturn(UpstreamTender.modified(parsedDTO, null, null));
+
+        scheduledTasks.updateTender();
+
+        verify(tenderRepository).updateAll(updatesOf(tender));
+        assertEquals("Upstream title", tender.getTitle());
+    }
+
+    @Test
+    public void testAssignedParticipantChangesFingerprint() {
+        ParsedTenderDTO parsedDTO = new ParsedTenderDTO();
+        TenderCwk tender = new TenderCwk();
+        long before = TenderFingerprint.of(parsedDTO, tender);
+
+        Participant participant = new Participant();
+        participant.setName("ТОВ Постачальник");
+        tender.setParticipant(participant);
+
+        assertNotEquals(before, TenderFingerprint.of(parsedDTO, tender));
+    }
+
+    @Test
+    public void testConditionalRequestUsesStoredValidators() throws InterruptedException {
+        TenderCwk tender = new TenderCwk();
+        tender.setId(5L);
+        tender.setUpstreamEtag("\"v1\"");
+        tender.setUpstreamLastModified("Wed, 01 Jan 2025 10:00:00 GMT");
+
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(tender));
+        when(parsingService.getTenderIfChanged(5L, "\"v1\"", "Wed, 01 Jan 2025 10:00:00 GMT"))
+                .thenReturn(UpstreamTender.notModified("\"v1\"", "Wed, 01 Jan 2025 10:00:00 GMT"));
 
         scheduledTasks.updateTender();
 
-        verify(parsingService, never()).getTenderById(anyLong());
-        verify(tenderRepository, never()).save(any());
+        verify(tenderRepository, never()).updateAll(any());
+        assertEquals(1, meterRegistry.counter("tender.refresh.tenders", "outcome", "not_modified").count());
     }
 
+    @Test
+    public void testChangedContentStoresFingerprintAndValidators() throws InterruptedException {
+        TenderCwk tender = new TenderCwk();
+        tender.setId(9L);
+        tender.setContentHash(42L);
+
+        ParsedTenderDTO parsedDTO = new ParsedTenderDTO();
+        parsedDTO.setStatusTitle("Завершено");
+        parsedDTO.setImportantDates(new ImportantDates());
+
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(tender));
+        when(parsingService.getTenderIfChanged(eq(9L), any(), any()))
+                .thenReturn(UpstreamTender.modified(parsedDTO, "\"v2\"", "Thu, 02 Jan 2025 10:00:00 GMT"));
+
+        scheduledTasks.updateTender();
+
+        verify(tenderRepository, times(1)).updateAll(updatesOf(tender));
+        assertEquals(TenderFingerprint.of(parsedDTO, tender), tender.getContentHash());
+        assertEquals("\"v2\"", tender.getUpstreamEtag());
+        assertEquals("Thu, 02 Jan 2025 10:00:00 GMT", tender.getUpstreamLastModified());
+    }
+
+    @Test
+    public void testRefreshRecordsChangedFieldsAndKeepsEditedOnes() throws InterruptedException {
+        TenderCwk tender = new TenderCwk();
+        tender.setId(15L);
+        tender.setTitle("Ремонт дороги (уточнено)");
+        tender.setStatusTitle("Кваліфікація");
+
+        ParsedTenderDTO parsedDTO = new ParsedTenderDTO();
+        parsedDTO.setTitle("Ремонт дороги");
+        parsedDTO.setStatusTitle("Завершено");
+        ImportantDates datesDTO = new ImportantDates();
+        datesDTO.setTenderingPeriodEnd("14.03.2025 10:00");
+        parsedDTO.setImportantDates(datesDTO);
+
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(tender));
+        when(parsingService.getTenderIfChanged(eq(15L), any(), any())).thenReturn(UpstreamTender.modified(parsedDTO, null, null));
+
+        scheduledTasks.updateTender();
+
+        verify(tenderRepository, times(1)).updateAll(updatesOf(tender));
+        assertEquals("statusTitle,tenderingPeriodEnd", tender.getLastChangedFields());
+        assertEquals("Ремонт дороги (уточнено)", tender.getTitle());
+        assertEquals(1.0, meterRegistry.counter("tender.refresh.field.changed", "field", "statusTitle").count());
+    }
+
+    @Test
+    public void testShardIsWalkedInCheckpointedChunks() throws InterruptedException {
+        ReflectionTestUtils.setField(scheduledTasks, "chunkSize", 2);
+        shard.setIdFrom(10L);
+        shard.setIdTo(20L);
+        TenderCwk first = new TenderCwk();
+        first.setId(10L);
+        TenderCwk second = new TenderCwk();
+        second.setId(11L);
+        TenderCwk third = new TenderCwk();
+        third.setId(12L);
+
+        ParsedTenderDTO parsedDTO = new ParsedTenderDTO();
+        parsedDTO.setStatusTitle("Завершено");
+        parsedDTO.setImportantDates(new ImportantDates());
+
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(first, second), List.of(third));
+        when(parsingService.getTenderIfChanged(anyLong(), any(), any())).thenReturn(UpstreamTender.modified(parsedDTO, null, null));
+
+        scheduledTasks.updateTender();
+
+        verify(tenderRepository).findDueForRefresh(any(), eq(9L), eq(20L), eq(Limit.of(2)));
+        verify(tenderRepository).findDueForRefresh(any(), eq(11L), eq(20L), eq(Limit.of(2)));
+        verify(tenderRepository).updateAll(updatesOf(first, second));
+        verify(tenderRepository).updateAll(updatesOf(third));
+
+        var order = inOrder(refreshShardRepository);
+        order.verify(refreshShardRepository).checkpoint(eq(1), any(), eq(11L), any());
+        order.verify(refreshShardRepository).checkpoint(eq(1), any(), eq(12L), any());
+        order.verify(refreshShardRepository).complete(eq(1), any(), any());
+        assertEquals(1, meterRegistry.counter("tender.refresh.shards", "outcome", "completed").count());
+    }
+
+    @Test
+    public void testExpiredLeaseResumesAfterCheckpoint() throws InterruptedException {
+        shard.setIdFrom(100L);
+        shard.setCheckpointId(140L);
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of());
+
+        scheduledTasks.updateTender();
+
+        verify(tenderRepository).findDueForRefresh(any(), eq(140L), eq(Long.MAX_VALUE), any());
+        verify(refreshShardRepository).complete(eq(1), any(), any());
+        assertEquals(1, meterRegistry.counter("tender.refresh.shards", "outcome", "resumed").count());
+    }
+
+    @Test
+    public void testLostLeaseStopsShard() throws InterruptedException {
+        ReflectionTestUtils.setField(scheduledTasks, "chunkSize", 1);
+        ReflectionTestUtils.setField(scheduledTasks, "concurrency", 1);
+        List<List<TenderCwk>> chunks = new ArrayList<>();
+        for (long id = 21; id <= 24; id++) {
+            TenderCwk tender = new TenderCwk();
+            tender.setId(id);
+            chunks.add(List.of(tender));
+        }
+
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any()))
+                .thenReturn(chunks.get(0), chunks.get(1), chunks.get(2), chunks.get(3));
+        when(parsingService.getTenderIfChanged(anyLong(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return UpstreamTender.notModified(null, null);
+        });
+        when(refreshShardRepository.checkpoint(any(), any(), any(), any())).thenReturn(0);
+
+        scheduledTasks.updateTender();
+
+        verify(parsingService, never()).getTenderIfChanged(eq(24L), any(), any());
+        assertEquals(0, meterRegistry.counter("tender.refresh.shards", "outcome", "completed").count());
+    }
+
+    @Test
+    public void testRescheduleAndCheckpointFailuresAreCounted() throws InterruptedException {
+        TenderCwk tender = new TenderCwk();
+        tender.setId(9L);
+
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(tender));
+        when(parsingService.getTenderIfChanged(anyLong(), any(), any())).thenReturn(UpstreamTender.notModified(null, null));
+        doThrow(new RuntimeException("database down")).when(tenderRepository).scheduleRefresh(any(), any());
+        when(refreshShardRepository.checkpoint(any(), any(), any(), any())).thenThrow(new RuntimeException("database down"));
+
+        scheduledTasks.updateTender();
+
+        assertEquals(1, meterRegistry.counter("tender.refresh.tenders", "outcome", "reschedule_failed").count());
+        assertEquals(1, meterRegistry.counter("tender.refresh.shards", "outcome", "checkpoint_failed").count());
+    }
+
+    @Test
+    public void testUpstreamFailureDoesNotAbortRun() throws InterruptedException {
+        TenderCwk failing = new TenderCwk();
+        failing.setId(7L);
+        TenderCwk tender = new TenderCwk();
+        tender.setId(8L);
+
+        ParsedTenderDTO parsedDTO = new ParsedTenderDTO();
+        parsedDTO.setStatusTitle("Завершено");
+        parsedDTO.setImportantDates(new ImportantDates());
+
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(failing, tender));
+        when(parsingService.getTenderIfChanged(eq(7L), any(), any())).thenThrow(new RuntimeException("upstream down"));
+        when(parsingService.getTenderIfChanged(eq(8L), any(), any())).thenReturn(UpstreamTender.modified(parsedDTO, null, null));
+
+        scheduledTasks.updateTender();
+
+        verify(tenderRepository, times(1)).updateAll(updatesOf(tender));
+        assertEquals(1, meterRegistry.counter("tender.refresh.tenders", "outcome", "failed").count());
+        assertEquals(1, meterRegistry.counter("tender.refresh.tenders", "outcome", "updated").count());
+        verify(tenderRepository).scheduleRefresh(eq(List.of(7L)), any());
+    }
+
+    @Test
+    public void testFailedFetchIsRetriedSoonerThanDormantInterval() throws InterruptedException {
+        TenderCwk tender = new TenderCwk();
+        tender.setId(15L);
+
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(tender));
+        when(parsingService.getTenderIfChanged(eq(15L), any(), any())).thenThrow(new RuntimeException("upstream down"));
+        when(upstreamBackoff.failures(15L)).thenReturn(3);
+
+        LocalDateTime before = LocalDateTime.now();
+        scheduledTasks.updateTender();
+
+        verify(tenderRepository).scheduleRefresh(eq(List.of(15L)), argThat(at ->
+                !at.isBefore(before.plusMinutes(20)) && at.isBefore(before.plusMinutes(21))));
+        assertEquals(1, meterRegistry.counter("tender.refresh.scheduled", "tier", "RETRY").count());
+    }
+
+    @Test
+    public void testBackedOffTenderIsSkippedWithoutFetch() throws InterruptedException {
+        TenderCwk tender = new TenderCwk();
+        tender.setId(16L);
+
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(tender));
+        LocalDateTime retryAt = LocalDateTime.now().plusMinutes(1);
+        when(upstreamBackoff.blocking(16L)).thenReturn(new UpstreamBackoff.Entry(16L, UpstreamBackoff.Reason.FAILING,
+                3, retryAt, "RetryableException: timeout"));
+
+        scheduledTasks.updateTender();
+
+        verify(parsingService, never()).getTenderIfChanged(anyLong(), any(), any());
+        verify(tenderRepository).scheduleRefresh(List.of(16L), retryAt);
+        assertEquals(1, meterRegistry.counter("tender.refresh.tenders", "outcome", "backed_off").count());
+    }
+
+    @Test
+    public void testUnchangedTenderIsRescheduledByLifecycle() throws InterruptedException {
+        TenderCwk tender = new TenderCwk();
+        tender.setId(13L);
+        tender.setAuctionStart(LocalDateTime.now().plusHours(2));
+
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(tender));
+        when(parsingService.getTenderIfChanged(eq(13L), any(), any())).thenReturn(UpstreamTender.notModified(null, null));
+
+        LocalDateTime before = LocalDateTime.now();
+        scheduledTasks.updateTender();
+
+        verify(tenderRepository, never()).updateAll(any());
+        verify(tenderRepository).scheduleRefresh(eq(List.of(13L)), argThat(at ->
+                at != null && !at.isBefore(before.plusMinutes(5)) && at.isBefore(before.plusMinutes(6))));
+    }
+
+    @Test
+    public void testChangedTenderCarriesNextRefreshTime() throws InterruptedException {
+        TenderCwk tender = new TenderCwk();
+        tender.setId(14L);
+
+        ParsedTenderDTO parsedDTO = new ParsedTenderDTO();
+        parsedDTO.setStatusTitle("Завершено");
+        parsedDTO.setImportantDates(new ImportantDates());
+
+        when(tenderRepository.findDueForRefresh(any(), anyLong(), anyLong(), any())).thenReturn(List.of(tender));
+        when(parsingService.getTenderIfChanged(eq(14L), any(), any())).thenReturn(UpstreamTender.modified(parsedDTO, null, null));
+
+        LocalDateTime before = LocalDateTime.now();
+        scheduledTasks.updateTender();
+
+        verify(tenderRepository).updateAll(updatesOf(tender));
+        assertTrue(tender.getNextRefreshAt().isAfter(before.plusDays(6)));
+    }
+
+    private static Map<Long, Consumer<TenderCwk>> updatesOf(TenderCwk... tenders) {
+        Set<Long> ids = Arrays.stream(tenders).map(TenderCwk::getId).collect(Collectors.toSet());
+        return argThat(updates -> updates.keySet().equals(ids));
+    }
 }
@@ -0,0 +1,162 @@
+package com.tender_service.feature.tender;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tender_service.core.api.database.entity.ImportJob;
+import com.tender_service.core.api.database.entity.UserCwk;
+import com.tender_service.core.api.database.repository.ImportJobRepository;
+import com.tender_service.core.api.database.repository.TenderRepository;
+import com.tender_service.core.api.database.repository.UserRepository;
+import com.tender_service.core.api.parsing_service.ParsingService;
+import com.tender_service.core.api.parsing_service.UpstreamLane;
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import com.tender_service.feature.tender.model.TenderImportJobDTO;
+import com.tender_service.feature.tender.model.TenderImportOutcome;
+import com.tender_service.feature.tender.service.TenderImportService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenderImportServiceTests {
+
+    @InjectMocks
+    private TenderImportService tenderImportService;
+
+    @Mock
+    private TenderRepository tenderRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private ParsingService parsingService;
+
+    @Mock
+    private ImportJobRepository importJobRepo;
+
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testImportReportsPerIdOutcomes() throws InterruptedException {
+        UserCwk user = new UserCwk();
+        user.setId(1L);
+        when(userRepo.findById(1L)).thenReturn(Optional.of(user));
+        when(tenderRepo.findExistingIds(List.of(10L, 11L, 12L, 13L))).thenReturn(List.of(10L));
+        when(parsingService.getTenderById(11L, UpstreamLane.BULK)).thenReturn(null);
+        when(parsingService.getTenderById(12L, UpstreamLane.BULK)).thenThrow(new RuntimeException("upstream down"));
+        when(parsingService.getTenderById(13L, UpstreamLane.BULK)).thenReturn(new ParsedTenderDTO());
+
+        TenderImportJobDTO job = await(tenderImportService.startImport(1L, List.of(10L, 11L, 12L, 13L, 10L)));
+
+        assertEquals(TenderImportOutcome.EXISTS, job.getOutcomes().get(10L));
+        assertEquals(TenderImportOutcome.NOT_FOUND, job.getOutcomes().get(11L));
+        assertEquals(TenderImportOutcome.FAILED, job.getOutcomes().get(12L));
+        assertEquals(TenderImportOutcome.IMPORTED, job.getOutcomes().get(13L));
+        assertEquals(Map.of(12L, "RuntimeException: upstream down"), job.getFailures());
+        assertEquals(1, meterRegistry.counter("tender.import.failed", "stage", "fetch").count());
+        verify(tenderRepo).insertAll(argThat(batch -> batch.size() == 1 && batch.getFirst().getUser() == user));
+    }
+
+    @Test
+    void testFailedBatchFallsBackToSingleInserts() throws InterruptedException {
+        when(userRepo.findById(1L)).thenReturn(Optional.of(new UserCwk()));
+        when(tenderRepo.findExistingIds(anyCollection())).thenReturn(List.of());
+        when(parsingService.getTenderById(anyLong(), any())).thenReturn(new ParsedTenderDTO());
+        doThrow(new DataIntegrityViolationException("duplicate")).when(tenderRepo)
+                .insertAll(argThat(batch -> batch.size() == 2 || batch.getFirst().getId() == 21L));
+
+        when(tenderRepo.existsById(21L)).thenReturn(true);
+
+        TenderImportJobDTO job = await(tenderImportService.startImport(1L, List.of(20L, 21L)));
+
+        assertEquals(TenderImportOutcome.IMPORTED, job.getOutcomes().get(20L));
+        assertEquals(TenderImportOutcome.EXISTS, job.getOutcomes().get(21L));
+    }
+
+    @Test
+    void testOtherConstraintViolationIsReportedAsFailure() throws InterruptedException {
+        when(userRepo.findById(1L)).thenReturn(Optional.of(new UserCwk()));
+        when(tenderRepo.findExistingIds(anyCollection())).thenReturn(List.of());
+        when(parsingService.getTenderById(anyLong(), any())).thenReturn(new ParsedTenderDTO());
+        doThrow(new DataIntegrityViolationException("value too long for type character varying(255)"))
+                .when(tenderRepo).insertAll(any());
+        when(tenderRepo.existsById(22L)).thenReturn(false);
+
+        TenderImportJobDTO job = await(tenderImportService.startImport(1L, List.of(22L)));
+
+        assertEquals(TenderImportOutcome.FAILED, job.getOutcomes().get(22L));
+        assertEquals("DataIntegrityViolationException: value too long for type character varying(255)",
+                job.getFailures().get(22L));
+        assertEquals(1, meterRegistry.counter("tender.import.failed", "stage", "insert").count());
+    }
+
+    @Test
+    void testJobFailureIsRecordedForUnprocessedIds() throws InterruptedException {
+        when(userRepo.findById(1L)).thenReturn(Optional.of(new UserCwk()));
+        when(tenderRepo.findExistingIds(anyCollection())).thenThrow(new IllegalStateException("database down"));
+
+        TenderImportJobDTO job = await(tenderImportService.startImport(1L, List.of(30L, 31L)));
+
+        assertEquals(Map.of(30L, "IllegalStateException: database down", 31L, "IllegalStateException: database down"),
+                job.getFailures());
+        assertEquals(1, meterRegistry.counter("tender.import.failed", "stage", "job").count());
+    }
+
+    @Test
+    void testStatusOfJobRunningOnAnotherNodeIsReadFromStore() throws InterruptedException {
+        when(userRepo.findById(1L)).thenReturn(Optional.of(new UserCwk()));
+        when(tenderRepo.findExistingIds(anyCollection())).thenReturn(List.of(40L));
+
+        TenderImportJobDTO job = await(tenderImportService.startImport(1L, List.of(40L)));
+        ArgumentCaptor<ImportJob> stored = ArgumentCaptor.forClass(ImportJob.class);
+        verify(importJobRepo, atLeast(2)).save(stored.capture());
+
+        TenderImportService otherNode = new TenderImportService();
+        ReflectionTestUtils.setField(otherNode, "importJobRepo", importJobRepo);
+        ReflectionTestUtils.setField(otherNode, "objectMapper", objectMapper);
+        when(importJobRepo.findById(job.getJobId())).thenReturn(Optional.of(stored.getValue()));
+
+        assertEquals(job, otherNode.getImport(job.getJobId()));
+        assertThrows(ResponseStatusException.class, () -> otherNode.getImport(UUID.randomUUID()));
+    }
+
+    @Test
+    void testRejectsEmptyImport() {
+        when(userRepo.findById(1L)).thenReturn(Optional.of(new UserCwk()));
+
+        assertThrows(IllegalArgumentException.class, () -> tenderImportService.startImport(1L, List.of()));
+        verifyNoInteractions(tenderRepo);
+    }
+
+    private TenderImportJobDTO await(TenderImportJobDTO job) throws InterruptedException {
+        for (int i = 0; i < 100 && !job.isFinished(); i++) {
+            Thread.sleep(20);
+            job = tenderImportService.getImport(job.getJobId());
+        }
+        assertTrue(job.isFinished());
+        return job;
+    }
+}
@@ -0,0 +1,207 @@
+package com.tender_service.feature.tender;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tender_service.core.api.database.entity.Role;
+import com.tender_service.core.api.database.entity.UserCwk;
+import com.tender_service.core.api.database.repository.TenderRepository;
+import com.tender_service.core.api.database.repository.UserRepository;
+import com.tender_service.core.api.file_service.FileManagerService;
+import com.tender_service.core.api.parsing_service.ParsingService;
+import com.tender_service.core.api.parsing_service.TenderModelReader;
+import com.tender_service.core.api.parsing_service.UpstreamBackoff;
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import com.tender_service.core.configuration.FilterConfig;
+import com.tender_service.core.configuration.JwtService;
+import com.tender_service.feature.tender.model.TenderMapperImpl;
+import com.tender_service.feature.tender.service.TenderService;
+import com.tender_service.core.api.database.entity.TenderCwk;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Imports a tender while the upstream answers slowly and asserts that no JDBC connection is held for the
+ * length of the fetch, on an embedded database. Calls are made with no session bound, as a web request
+ * makes them with open-in-view off.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:connection_test;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "tender.database.schema-scripts.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({FilterConfig.class, TenderMapperImpl.class, TenderService.class, TenderServiceConnectionTests.HoldTimeConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TenderServiceConnectionTests {
+
+    private static final long UPSTREAM_LATENCY_MS = 1_000;
+
+    @Autowired
+    private TenderService tenderService;
+    @Autowired
+    private TenderRepository tenderRepo;
+    @Autowired
+    private UserRepository userRepo;
+    @Autowired
+    private HoldTimeDataSource holdTime;
+
+    @MockitoBean
+    private ParsingService parsingService;
+    @MockitoBean
+    private JwtService jwtService;
+    @MockitoBean
+    private FileManagerService fileManagerService;
+    @MockitoBean
+    private ObjectMapper objectMapper;
+    @MockitoBean
+    private UpstreamBackoff upstreamBackoff;
+
+    private UserCwk user;
+    private ParsedTenderDTO parsed;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tenderRepo.deleteAll();
+        userRepo.deleteAll();
+
+        user = new UserCwk();
+        user.setName("name");
+        user.setSurname("surname");
+        user.setEmail("importer@example.com");
+        user.setUsername("importer");
+        user.setPassword("password");
+        user.setRoles(Set.of(Role.USER));
+        user = userRepo.save(user);
+
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/tender-model.json")) {
+            parsed = TenderModelReader.read(in);
+        }
+    }
+
+    @Test
+    void adminImportHoldsNoConnectionWhileFetching() throws Exception {
+        when(parsingService.getTenderById(501L)).thenAnswer(invocation -> slowUpstream());
+
+        long elapsed = timed(() -> tenderService.addTenderForIdByAdmin(user.getId(), 501L));
+
+        assertTrue(tenderRepo.existsById(501L));
+        assertHeldBriefly(elapsed);
+    }
+
+    @Test
+    void firstOpenHoldsNoConnectionWhileFetching() throws Exception {
+        when(jwtService.getEmailFromToken("token")).thenReturn(user.getEmail());
+        when(parsingService.getTenderById(502L)).thenAnswer(invocation -> slowUpstream());
+
+        long elapsed = timed(() -> tenderService.getTenderById("Bearer token", 502L));
+
+        assertTrue(tenderRepo.existsById(502L));
+        assertHeldBriefly(elapsed);
+
+        TenderCwk reopened = tenderService.getTenderById("Bearer token", 502L);
+        assertTrue(Hibernate.isInitialized(reopened.getItems()), "The tender's JSON is written after its session closed");
+        assertTrue(Hibernate.isInitialized(reopened.getFiles()));
+        assertTrue(Hibernate.isInitialized(reopened.getItemsAndParticipants()));
+    }
+
+    private ParsedTenderDTO slowUpstream() throws InterruptedException {
+        Thread.sleep(UPSTREAM_LATENCY_MS);
+        return parsed;
+    }
+
+    private void assertHeldBriefly(long elapsedMs) {
+        assertTrue(elapsedMs >= UPSTREAM_LATENCY_MS, "Call returned before the upstream answered");
+        assertTrue(holdTime.longestMs() < UPSTREAM_LATENCY_MS / 2,
+                "A connection was held for " + holdTime.longestMs() + " ms of a " + elapsedMs + " ms call");
+    }
+
+    private long timed(ThrowingRunnable call) throws Exception {
+        holdTime.reset();
+        long start = System.nanoTime();
+        call.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    @TestConfiguration
+    static class HoldTimeConfig {
+
+        @Bean
+        static BeanPostProcessor holdTimeDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof HoldTimeDataSource)
+                            ? new HoldTimeDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /** Records how long each connection stays checked out, from getConnection to close. */
+    static class HoldTimeDataSource extends DelegatingDataSource {
+
+        private final AtomicLong longestNanos = new AtomicLong();
+
+        HoldTimeDataSource(DataSource target) {
+            super(target);
+        }
+
+        long longestMs() {
+            return longestNanos.get() / 1_000_000;
+        }
+
+        void reset() {
+            longestNanos.set(0);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            long acquired = System.nanoTime();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("close")) {
+                            longestNanos.accumulateAndGet(System.nanoTime() - acquired, Math::max);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -7,21 +7,43 @@ import com.tender_service.core.api.database.repository.TenderRepository;
 import com.tender_service.core.api.database.repository.UserRepository;
 import com.tender_service.core.api.file_service.FileManagerService;
 import com.tender_service.core.api.parsing_service.ParsingService;
+import com.tender_service.core.api.parsing_service.models.ParsedTenderDTO;
+import com.tender_service.core.configuration.FilterConfig;
 import com.tender_service.core.configuration.JwtService;
+import com.tender_service.feature.tender.model.AdminTenderRow;
+import com.tender_service.feature.tender.model.AdminTenderRowProjection;
+import com.tender_service.feature.tender.model.TenderDTO;
+import com.tender_service.feature.tender.model.TenderDTOProjection;
+import com.tender_service.feature.tender.model.TenderMapper;
+import com.tender_service.feature.tender.model.TenderOwnerDTO;
+import com.tender_service.feature.tender.model.TenderStatsDTO;
+import com.tender_service.feature.tender.model.TenderStatsProjection;
 import com.tender_service.feature.tender.service.TenderService;
+import com.tender_service.utils.filter.FilterCompiler;
+import com.tender_service.utils.filter.FilterField;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -48,6 +70,16 @@ class TenderServiceTests {
     @Mock
     private FileManagerService fileManagerService;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TenderMapper tenderMapper = Mappers.getMapper(TenderMapper.class);
+
+    @Spy
+    private FilterCompiler<TenderCwk> tenderFilter = new FilterCompiler<>(
+            List.of(FilterField.attribute("id", Long.class)), FilterConfig.RESERVED_PARAMS);
+
     private final String jwtToken = "Bearer valid.jwt.token";
     private final String email = "test@example.com";
 
@@ -107,6 +139,61 @@ class TenderServiceTests {
         );
     }
 
+    @Test
+    void testGetTenderById_ConcurrentFirstOpensFetchOnce() throws Exception {
+        Long tenderId = 127L;
+        TenderCwk stored = new TenderCwk();
+        stored.setId(tenderId);
+        AtomicBoolean inserted = new AtomicBoolean();
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(jwtService.getEmailFromToken("valid.jwt.token")).thenReturn(email);
+        when(userRepo.findByEmail(email)).thenReturn(Optional.of(mockUser));
+        when(tenderRepo.existsById(tenderId)).thenAnswer(i -> inserted.get());
+        when(tenderRepo.findByIdAndUserInAnyRole(tenderId, mockUser)).thenReturn(stored);
+        when(parsingService.getTenderById(tenderId)).thenAnswer(i -> {
+            fetching.countDown();
+            release.await();
+            return new ParsedTenderDTO();
+        });
+        when(tenderRepo.save(any(TenderCwk.class))).thenAnswer(i -> {
+            TenderCwk tender = i.getArgument(0);
+            assertTrue(tender.isNew());
+            inserted.set(true);
+            return tender;
+        });
+
+        try (ExecutorService callers = Executors.newFixedThreadPool(2)) {
+            Future<TenderCwk> first = callers.submit(() -> tenderService.getTenderById(jwtToken, tenderId));
+            assertTrue(fetching.await(5, TimeUnit.SECONDS));
+            Future<TenderCwk> second = callers.submit(() -> tenderService.getTenderById(jwtToken, tenderId));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals(tenderId, first.get(5, TimeUnit.SECONDS).getId());
+            assertSame(stored, second.get(5, TimeUnit.SECONDS));
+        }
+        verify(parsingService, times(1)).getTenderById(tenderId);
+        verify(tenderRepo, times(1)).save(any(TenderCwk.class));
+    }
+
+    @Test
+    void testGetTenderById_InsertRaceLostToAnotherNode() throws ParseException {
+        Long tenderId = 130L;
+        TenderCwk stored = new TenderCwk();
+        stored.setId(tenderId);
+
+        when(jwtService.getEmailFromToken("valid.jwt.token")).thenReturn(email);
+        when(userRepo.findByEmail(email)).thenReturn(Optional.of(mockUser));
+        when(tenderRepo.existsById(tenderId)).thenReturn(false, false, true);
+        when(parsingService.getTenderById(tenderId)).thenReturn(new ParsedTenderDTO());
+        when(tenderRepo.save(any(TenderCwk.class))).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(tenderRepo.findByIdAndUserInAnyRole(tenderId, mockUser)).thenReturn(stored);
+
+        assertSame(stored, tenderService.getTenderById(jwtToken, tenderId));
+    }
+
     @Test
     void testGetTenderById_UserNotFound() throws ParseException {
         Long tenderId = 37312021L;
@@ -263,4 +350,70 @@ class TenderServiceTests {
                 tenderService.getTenderForJWT(jwtToken, 0, 10, "id", "asc", "INVALID_ROLE", params)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAllTenders_LoadsOwnerRolesInOneBatch() {
+        TenderOwnerDTO firstOwner = new TenderOwnerDTO();
+        firstOwner.setId(1L);
+        TenderOwnerDTO sameOwner = new TenderOwnerDTO();
+        sameOwner.setId(1L);
+        List<AdminTenderRow> rows = List.of(
+                new AdminTenderRow(new TenderDTO(), firstOwner),
+                new AdminTenderRow(new TenderDTO(), sameOwner),
+                new AdminTenderRow(new TenderDTO(), null)
+        );
+
+        when(tenderRepo.findPage(any(), any(), eq(AdminTenderRowProjection.INSTANCE))).thenReturn(rows);
+        when(userRepo.findRolesByUserIds(Set.of(1L))).thenReturn(List.<Object[]>of(
+                new Object[]{1L, Role.USER}, new Object[]{1L, Role.TENDERER}));
+
+        List<AdminTenderRow> result = tenderService.getAllTenders(0, 10, "id", "desc", new HashMap<>());
+
+        assertEquals(Set.of(Role.USER, Role.TENDERER), result.get(0).getUser().getRoles());
+        assertEquals(Set.of(Role.USER, Role.TENDERER), result.get(1).getUser().getRoles());
+        assertNull(result.get(2).getUser());
+        verify(userRepo, times(1)).findRolesByUserIds(any());
+    }
+
+    @Test
+    void testSearchTenderForJWT_KeepsRankOrder() throws ParseException {
+        TenderDTO first = new TenderDTO();
+        first.setId(7L);
+        TenderDTO second = new TenderDTO();
+        second.setId(3L);
+
+        when(jwtService.getEmailFromToken("valid.jwt.token")).thenReturn(email);
+        when(userRepo.findByEmail(email)).thenReturn(Optional.of(mockUser));
+        when(tenderRepo.searchRankedIds("ремонт", Role.USER, 1L, 0, 10)).thenReturn(List.of(7L, 3L));
+        when(tenderRepo.findPage(any(), any(), eq(TenderDTOProjection.INSTANCE))).thenReturn(List.of(second, first));
+
+        List<TenderDTO> result = tenderService.searchTenderForJWT(jwtToken, " ремонт ", "USER", 0, 10);
+
+        assertEquals(List.of(7L, 3L), result.stream().map(TenderDTO::getId).toList());
+    }
+
+    @Test
+    void testSearchAllTenders_BlankQuery() {
+        assertThrows(IllegalArgumentException.class, () -> tenderService.searchAllTenders("  ", 0, 10));
+        verifyNoInteractions(tenderRepo);
+    }
+
+    @Test
+    void testGetAllStats_GroupsByRequestedDimensions() {
+        TenderStatsDTO row = new TenderStatsDTO();
+        row.setCount(3);
+        when(tenderRepo.aggregate(any(), any(TenderStatsProjection.class))).thenReturn(List.of(row));
+
+        List<TenderStatsDTO> result = tenderService.getAllStats("statusTitle, createdMonth,statusTitle", new HashMap<>());
+
+        assertEquals(List.of(row), result);
+    }
+
+    @Test
+    void testGetAllStats_RejectsUnknownDimension() {
+        assertThrows(IllegalArgumentException.class, () -> tenderService.getAllStats("title", new HashMap<>()));
+        assertThrows(IllegalArgumentException.class,
+                () -> tenderService.getAllStats("statusTitle,tenderStatus,internalStage,categoryCode", new HashMap<>()));
+        verifyNoInteractions(tenderRepo);
+    }
+}
@@ -7,10 +7,12 @@ import com.tender_service.core.api.database.repository.UserRepository;
 import com.tender_service.core.configuration.JwtService;
 import com.tender_service.feature.user.model.AuthorizationDTO;
 import com.tender_service.feature.user.model.UserCWKDTO;
+import com.tender_service.feature.user.model.UserMapper;
 import com.tender_service.feature.user.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
 import org.mockito.*;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
@@ -35,6 +37,8 @@ class UserServiceTests {
     private UserRepository userRepo;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Spy
+    private UserMapper userMapper = Mappers.getMapper(UserMapper.class);
 
     private final String email = "user@example.com";
 
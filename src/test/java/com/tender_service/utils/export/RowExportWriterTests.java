@@ -0,0 +1,72 @@
+package com.tender_service.utils.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tender_service.feature.tender.model.TenderDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowExportWriterTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void testNdjson_OneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = RowExportWriter.write(Stream.of(tender(1L, "Ремонт"), tender(2L, "Road")), TenderDTO.class,
+                ExportFormat.NDJSON, objectMapper, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(2, count);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        assertEquals("Ремонт", objectMapper.readTree(lines[0]).get("title").asText());
+        assertEquals("2025-03-01T10:00:00", objectMapper.readTree(lines[1]).get("auctionStart").asText());
+    }
+
+    @Test
+    void testCsv_HeaderInDeclarationOrderAndQuoting() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        RowExportWriter.write(Stream.of(tender(1L, "Ремонт, \"дороги\"")), TenderDTO.class, ExportFormat.CSV,
+                objectMapper, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(lines[0].startsWith("id,createdAt,prozorroNumber,title,"));
+        assertTrue(lines[1].startsWith("1,,,\"Ремонт, \"\"дороги\"\"\","));
+    }
+
+    @Test
+    void testEmptyStream_WritesNothingForNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = RowExportWriter.write(Stream.empty(), TenderDTO.class, ExportFormat.NDJSON, objectMapper, out);
+
+        assertEquals(0, count);
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void testUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.of("xlsx"));
+        assertEquals(ExportFormat.CSV, ExportFormat.of("CSV"));
+    }
+
+    private static TenderDTO tender(Long id, String title) {
+        TenderDTO dto = new TenderDTO();
+        dto.setId(id);
+        dto.setTitle(title);
+        dto.setAuctionStart(LocalDateTime.of(2025, 3, 1, 10, 0));
+        return dto;
+    }
+}
@@ -0,0 +1,138 @@
+package com.tender_service.utils.filter;
+
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.core.api.database.entity.TenderStatus;
+import com.tender_service.core.configuration.FilterConfig;
+import jakarta.persistence.Column;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FilterCompilerTests {
+
+    private FilterCompiler<TenderCwk> compiler;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new FilterCompiler<>(List.of(
+                FilterField.attribute("id", Long.class),
+                FilterField.attribute("title", String.class),
+                FilterField.attribute("budgetAmount", Double.class),
+                FilterField.attribute("auctionStart", LocalDateTime.class),
+                FilterField.attribute("guaranteeBank", boolean.class),
+                FilterField.attribute("tenderStatus", TenderStatus.class),
+                FilterField.association("userId", "user", "id", Long.class)
+        ), Set.of("pageNumber", "pageSize", "sortBy", "sortDirection"));
+    }
+
+    @Test
+    void testCompile_CachesPlanByShape() {
+        FilterPlan<TenderCwk> first = compiler.compile(List.of("title", "budgetAmount_start", "pageNumber"));
+        FilterPlan<TenderCwk> second = compiler.compile(List.of("budgetAmount_start", "pageSize", "title"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void testCompile_MergesRangeBounds() {
+        FilterPlan<TenderCwk> plan = compiler.compile(List.of("budgetAmount_start", "budgetAmount_stop"));
+
+        assertEquals(1, plan.clauses().size());
+        assertEquals("budgetAmount_start", plan.clauses().getFirst().key());
+        assertEquals("budgetAmount_stop", plan.clauses().getFirst().stopKey());
+    }
+
+    @Test
+    void testCompile_DefaultOperators() {
+        FilterPlan<TenderCwk> plan = compiler.compile(List.of("title", "userId", "tenderStatus_in"));
+
+        Map<String, FilterOperator> operators = plan.clauses().stream()
+                .collect(Collectors.toMap(c -> c.field().name(), FilterPlan.Clause::operator));
+        assertEquals(FilterOperator.PREFIX, operators.get("title"));
+        assertEquals(FilterOperator.EQUALS, operators.get("userId"));
+        assertEquals(FilterOperator.IN, operators.get("tenderStatus"));
+    }
+
+    @Test
+    void testCompile_UnknownKeyRejected() {
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile(List.of("password")));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void testForEntity_InternalAttributesRejected() throws Exception {
+        Set<SingularAttribute<? super TenderCwk, ?>> attributes = new HashSet<>();
+        for (Field field : TenderCwk.class.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Column.class)) {
+                SingularAttribute attribute = mock(SingularAttribute.class);
+                when(attribute.getName()).thenReturn(field.getName());
+                when(attribute.getJavaType()).thenReturn(field.getType());
+                when(attribute.getPersistentAttributeType()).thenReturn(Attribute.PersistentAttributeType.BASIC);
+                attributes.add(attribute);
+            }
+        }
+        EntityType<TenderCwk> entity = mock(EntityType.class);
+        when(entity.getSingularAttributes()).thenReturn(attributes);
+
+        FilterCompiler<TenderCwk> tenderFilter =
+                FilterCompiler.forEntity(entity, FilterConfig.RESERVED_PARAMS, FilterConfig.INTERNAL_ATTRIBUTES);
+
+        assertEquals("title", tenderFilter.sortField("title").name());
+        for (String internal : FilterConfig.INTERNAL_ATTRIBUTES) {
+            assertTrue(TenderCwk.class.getDeclaredField(internal).isAnnotationPresent(Column.class));
+            assertThrows(IllegalArgumentException.class, () -> tenderFilter.compile(List.of(internal)));
+            assertThrows(IllegalArgumentException.class, () -> tenderFilter.sortField(internal));
+        }
+    }
+
+    @Test
+    void testCompile_UnsupportedOperatorRejected() {
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile(List.of("title_start")));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile(List.of("guaranteeBank_in")));
+    }
+
+    @Test
+    void testBind_InvalidValueRejected() {
+        assertThrows(IllegalArgumentException.class, () ->
+                compiler.toSpecification(Map.of("budgetAmount_start", "abc")));
+        assertThrows(IllegalArgumentException.class, () ->
+                compiler.toSpecification(Map.of("guaranteeBank", "yes")));
+        assertThrows(IllegalArgumentException.class, () ->
+                compiler.toSpecification(Map.of("tenderStatus", "UNKNOWN")));
+    }
+
+    @Test
+    void testBind_ValidParams() {
+        assertNotNull(compiler.toSpecification(Map.of(
+                "title", "Ремонт",
+                "budgetAmount_start", "100.5",
+                "auctionStart_stop", "2025-01-01",
+                "tenderStatus_in", "CREATED,CHECKED",
+                "sortBy", "id"
+        )));
+    }
+
+    @Test
+    void testSort_ValidatesField() {
+        Sort sort = compiler.sort("budgetAmount", "asc");
+        assertEquals(Sort.Direction.ASC, sort.getOrderFor("budgetAmount").getDirection());
+
+        assertThrows(IllegalArgumentException.class, () -> compiler.sort("userId", "asc"));
+        assertThrows(IllegalArgumentException.class, () -> compiler.sort("user.password", "desc"));
+    }
+}
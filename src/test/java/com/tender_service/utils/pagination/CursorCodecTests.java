@@ -0,0 +1,53 @@
+package com.tender_service.utils.pagination;
+
+import com.tender_service.core.api.database.entity.TenderCwk;
+import com.tender_service.utils.filter.FilterField;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorCodecTests {
+
+    private final FilterField<TenderCwk> auctionStart = FilterField.attribute("auctionStart", LocalDateTime.class);
+    private final FilterField<TenderCwk> title = FilterField.attribute("title", String.class);
+
+    @Test
+    void testRoundTrip() {
+        LocalDateTime value = LocalDateTime.of(2025, 3, 1, 14, 30);
+        String cursor = CursorCodec.encode(new Keyset("auctionStart", Sort.Direction.DESC, value, 42L));
+
+        Keyset decoded = CursorCodec.decode(cursor, auctionStart, Sort.Direction.DESC);
+        assertEquals(value, decoded.value());
+        assertEquals(42L, decoded.id());
+    }
+
+    @Test
+    void testRoundTrip_NullAndEmptyValuesDiffer() {
+        Keyset nullKey = CursorCodec.decode(
+                CursorCodec.encode(new Keyset("title", Sort.Direction.ASC, null, 1L)), title, Sort.Direction.ASC);
+        Keyset emptyKey = CursorCodec.decode(
+                CursorCodec.encode(new Keyset("title", Sort.Direction.ASC, "", 1L)), title, Sort.Direction.ASC);
+
+        assertNull(nullKey.value());
+        assertEquals("", emptyKey.value());
+    }
+
+    @Test
+    void testDecode_RejectsOtherSort() {
+        String cursor = CursorCodec.encode(new Keyset("title", Sort.Direction.ASC, "a", 1L));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                CursorCodec.decode(cursor, auctionStart, Sort.Direction.ASC));
+        assertThrows(IllegalArgumentException.class, () ->
+                CursorCodec.decode(cursor, title, Sort.Direction.DESC));
+    }
+
+    @Test
+    void testDecode_RejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () ->
+                CursorCodec.decode("not a cursor!", title, Sort.Direction.ASC));
+    }
+}